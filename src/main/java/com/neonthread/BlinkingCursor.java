@@ -1,32 +1,37 @@
 package com.neonthread;
 
-import javax.swing.Timer;
+import com.neonthread.ui.FrameScheduler;
+
+import java.awt.Component;
 
 /**
  * Cursor parpadeante reutilizable.
+ * Corre sobre el reloj compartido; se pausa junto con la pantalla dueña.
  */
 public class BlinkingCursor {
     private boolean visible = true;
-    private Timer timer;
+    private FrameScheduler.Handle blink;
+    private final Component owner;
     private final Runnable onBlink;
     
-    public BlinkingCursor(Runnable onBlink) {
+    public BlinkingCursor(Component owner, Runnable onBlink) {
+        this.owner = owner;
         this.onBlink = onBlink;
     }
     
     public void start() {
-        timer = new Timer(GameConstants.CURSOR_BLINK_DELAY_MS, e -> {
+        stop();
+        blink = FrameScheduler.getInstance().every(owner, GameConstants.CURSOR_BLINK_DELAY_MS, () -> {
             visible = !visible;
             if (onBlink != null) {
                 onBlink.run();
             }
         });
-        timer.start();
     }
     
     public void stop() {
-        if (timer != null) {
-            timer.stop();
+        if (blink != null) {
+            blink.cancel();
         }
     }
     
@@ -2,14 +2,11 @@ package com.neonthread;
 
 import com.neonthread.stats.BaseAttributes;
 import com.neonthread.stats.Modifier;
+import com.neonthread.stats.ModifierTimeline;
 import com.neonthread.stats.RuntimeStats;
 import com.neonthread.stats.StatType;
 import com.neonthread.inventory.Inventory;
 
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
-
 /**
  * Representa el personaje del jugador (DRY).
  * Almacena toda la información relevante de la run.
@@ -30,7 +27,13 @@ public class Character {
     private RuntimeStats runtimeStats;
     
     // Layer 4: Modifiers
-    private List<Modifier> modifiers;
+    private ModifierTimeline modifiers;
+    private final int[] modifierTotals = new int[StatType.values().length]; // Suma por StatType.ordinal()
+    
+    // Caché de atributos/capacidades efectivas (índice StatType.ordinal())
+    private final int[] effectiveStats = new int[StatType.values().length];
+    private boolean statsDirty = true;
+    private int cachedAttributesVersion;
     
     // Layer 5: Inventory
     private Inventory inventory;
@@ -48,7 +51,7 @@ public class Character {
         this.difficulty = difficulty;
         
         // Initialize lists
-        this.modifiers = new ArrayList<>();
+        this.modifiers = new ModifierTimeline();
         this.inventory = new Inventory(this);
         
         // Initialize Attributes based on Role
@@ -65,6 +68,30 @@ public class Character {
         this.reputation = 0;
     }
     
+    /**
+     * Copia profunda del estado mutable (atributos, stats, modifiers e inventario).
+     * Los items y modifiers en sí son compartidos: no se mutan al jugar.
+     */
+    private Character(Character source) {
+        this.name = source.name;
+        this.role = source.role;
+        this.difficulty = source.difficulty;
+        this.baseAttributes = source.baseAttributes.copy();
+        this.runtimeStats = source.runtimeStats.copy();
+        this.modifiers = source.modifiers.copy();
+        System.arraycopy(source.modifierTotals, 0, this.modifierTotals, 0, modifierTotals.length);
+        this.inventory = source.inventory.copyFor(this);
+        this.level = source.level;
+        this.credits = source.credits;
+        this.karma = source.karma;
+        this.notoriety = source.notoriety;
+        this.reputation = source.reputation;
+    }
+    
+    public Character copy() {
+        return new Character(this);
+    }
+    
     private void initializeAttributesByRole(Role role) {
         int intel = 0, phys = 0, per = 0, cha = 0;
         switch (role) {
@@ -83,62 +110,99 @@ public class Character {
     
     // --- Core Stat Logic ---
 
+    /**
+     * Atributo o capacidad efectiva, O(1): los totales de modificadores se mantienen
+     * por stat y los valores efectivos se recalculan solo cuando algo cambió.
+     */
     public int getEffectiveAttribute(StatType type) {
-        int base = 0;
-        switch (type) {
-            case INTELLIGENCE: base = baseAttributes.getIntelligence(); break;
-            case PHYSICAL: base = baseAttributes.getPhysical(); break;
-            case PERCEPTION: base = baseAttributes.getPerception(); break;
-            case CHARISMA: base = baseAttributes.getCharisma(); break;
-            default: return 0; // Should not happen for attributes
-        }
-        return base + getModifierTotal(type);
+        if (!isAttribute(type)) return 0; // Should not happen for attributes
+        return effectiveStats()[type.ordinal()];
     }
 
     public int getEffectiveCapability(StatType type) {
-        int intel = getEffectiveAttribute(StatType.INTELLIGENCE);
-        int phys = getEffectiveAttribute(StatType.PHYSICAL);
-        int per = getEffectiveAttribute(StatType.PERCEPTION);
-        int cha = getEffectiveAttribute(StatType.CHARISMA);
-        
-        int base = 0;
+        if (!isCapability(type)) return 0;
+        return effectiveStats()[type.ordinal()];
+    }
+
+    private int getModifierTotal(StatType type) {
+        return modifierTotals[type.ordinal()];
+    }
+
+    /**
+     * Recalcula atributos y capacidades efectivas si hubo cambios en modificadores
+     * o en los atributos base (BaseAttributes lleva un contador de versión).
+     */
+    private int[] effectiveStats() {
+        if (statsDirty || cachedAttributesVersion != baseAttributes.getVersion()) {
+            int intel = baseAttributes.getIntelligence() + getModifierTotal(StatType.INTELLIGENCE);
+            int phys = baseAttributes.getPhysical() + getModifierTotal(StatType.PHYSICAL);
+            int per = baseAttributes.getPerception() + getModifierTotal(StatType.PERCEPTION);
+            int cha = baseAttributes.getCharisma() + getModifierTotal(StatType.CHARISMA);
+
+            effectiveStats[StatType.INTELLIGENCE.ordinal()] = intel;
+            effectiveStats[StatType.PHYSICAL.ordinal()] = phys;
+            effectiveStats[StatType.PERCEPTION.ordinal()] = per;
+            effectiveStats[StatType.CHARISMA.ordinal()] = cha;
+
+            effectiveStats[StatType.HACK.ordinal()] = intel + (per / 2) + getModifierTotal(StatType.HACK);
+            effectiveStats[StatType.COMBAT.ordinal()] = phys + (per / 2) + getModifierTotal(StatType.COMBAT);
+            effectiveStats[StatType.STEALTH.ordinal()] = per + (phys / 2) + getModifierTotal(StatType.STEALTH);
+            effectiveStats[StatType.NEGOTIATION.ordinal()] = cha + (intel / 2) + getModifierTotal(StatType.NEGOTIATION);
+            effectiveStats[StatType.ANALYSIS.ordinal()] = intel + (per / 2) + getModifierTotal(StatType.ANALYSIS);
+
+            cachedAttributesVersion = baseAttributes.getVersion();
+            statsDirty = false;
+        }
+        return effectiveStats;
+    }
+
+    private static boolean isAttribute(StatType type) {
         switch (type) {
-            case HACK: base = intel + (per / 2); break;
-            case COMBAT: base = phys + (per / 2); break;
-            case STEALTH: base = per + (phys / 2); break;
-            case NEGOTIATION: base = cha + (intel / 2); break;
-            case ANALYSIS: base = intel + (per / 2); break;
-            default: return 0;
+            case INTELLIGENCE: case PHYSICAL: case PERCEPTION: case CHARISMA: return true;
+            default: return false;
         }
-        return base + getModifierTotal(type);
     }
 
-    private int getModifierTotal(StatType type) {
-        return modifiers.stream()
-                .filter(m -> m.getTargetStat() == type)
-                .mapToInt(Modifier::getValue)
-                .sum();
+    private static boolean isCapability(StatType type) {
+        switch (type) {
+            case HACK: case COMBAT: case STEALTH: case NEGOTIATION: case ANALYSIS: return true;
+            default: return false;
+        }
     }
 
     public void addModifier(Modifier modifier) {
         modifiers.add(modifier);
+        applyModifierTotal(modifier, modifier.getValue());
     }
 
     public void removeModifier(Modifier modifier) {
-        modifiers.remove(modifier);
+        if (modifiers.remove(modifier)) {
+            applyModifierTotal(modifier, -modifier.getValue());
+        }
     }
 
+    /**
+     * Avanza un tick: solo se tocan los modificadores que expiran en este tick.
+     */
     public void tickModifiers() {
-        Iterator<Modifier> it = modifiers.iterator();
-        while (it.hasNext()) {
-            Modifier m = it.next();
-            m.decreaseDuration();
-            if (m.isExpired()) {
-                it.remove();
-            }
+        for (Modifier m : modifiers.tick()) {
+            applyModifierTotal(m, -m.getValue());
         }
     }
 
+    /**
+     * Ticks restantes de un modificador temporal, o -1 si es permanente o no está activo.
+     */
+    public int getRemainingDuration(Modifier modifier) {
+        return modifiers.getRemainingTicks(modifier);
+    }
+
+    private void applyModifierTotal(Modifier modifier, int delta) {
+        if (modifier.getTargetStat() == null || delta == 0) return;
+        modifierTotals[modifier.getTargetStat().ordinal()] += delta;
+        statsDirty = true;
+    }
+
     // --- Getters for Legacy/Direct Access ---
     
     public String getName() { return name; }
@@ -0,0 +1,285 @@
+package com.neonthread;
+
+import com.neonthread.NarrativeScene.AttributeCheck;
+import com.neonthread.NarrativeScene.Consequence;
+import com.neonthread.NarrativeScene.SceneOption;
+import com.neonthread.flags.FlagRegistry;
+import com.neonthread.flags.FlagSet;
+import com.neonthread.stats.StatType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Escena compilada a un programa plano de ints (KISS).
+ *
+ * Cada opción es un registro dentro de {@code program}, a partir de {@code optionOffsets[i]}:
+ *
+ *   texto, siguiente, fallo, efectos,
+ *   nFlags,  (flagId << 1 | valor) x nFlags,
+ *   nChecks, (stat, mínimo) x nChecks,
+ *   nCons,   (opcode, valor, operando) x nCons
+ *
+ * Los textos e ids de escena son índices al pool {@code strings} (-1 = null), los
+ * flags ya vienen internados en FlagRegistry, los stats y tipos de consecuencia son
+ * ordinales. Evaluar visibilidad, checks y consecuencias no asigna memoria ni recorre
+ * mapas o listas, y la escena ocupa unos pocos arrays en lugar de un grafo de objetos.
+ */
+public final class CompiledScene {
+    /** La opción modifica el personaje (stats, créditos, inventario). */
+    public static final int EFFECT_CHARACTER = 1;
+    /** La opción asigna flags. */
+    public static final int EFFECT_FLAGS = 2;
+
+    private static final StatType[] STATS = StatType.values();
+    private static final Consequence.ConsequenceType[] CONSEQUENCES = Consequence.ConsequenceType.values();
+    private static final int OP_SET_FLAG = Consequence.ConsequenceType.SET_FLAG.ordinal();
+    private static final int OP_ADD_LOG = Consequence.ConsequenceType.ADD_LOG.ordinal();
+
+    // Posiciones fijas dentro del registro de una opción
+    private static final int TEXT = 0;
+    private static final int NEXT = 1;
+    private static final int FAIL = 2;
+    private static final int EFFECTS = 3;
+    private static final int FLAGS = 4;
+
+    private final String id;
+    private final String[] strings;
+    private final int[] sceneFlags;
+    private final int[] optionOffsets;
+    private final int[] program;
+    private final boolean closing;
+
+    private CompiledScene(String id, String[] strings, int[] sceneFlags, int[] optionOffsets,
+                          int[] program, boolean closing) {
+        this.id = id;
+        this.strings = strings;
+        this.sceneFlags = sceneFlags;
+        this.optionOffsets = optionOffsets;
+        this.program = program;
+        this.closing = closing;
+    }
+
+    /**
+     * Compila la escena. Se llama una vez por escena desde {@link NarrativeScene#getCompilada()}.
+     */
+    public static CompiledScene compile(NarrativeScene scene) {
+        Compiler compiler = new Compiler();
+
+        int[] sceneFlags = new int[scene.getFlagsActivos().size()];
+        int flagIndex = 0;
+        for (Map.Entry<String, Boolean> flag : scene.getFlagsActivos().entrySet()) {
+            sceneFlags[flagIndex++] = encodeFlag(flag.getKey(), flag.getValue());
+        }
+
+        List<SceneOption> options = scene.getOpciones();
+        int[] offsets = new int[options.size()];
+        for (int i = 0; i < options.size(); i++) {
+            offsets[i] = compiler.size;
+            compiler.addOption(options.get(i));
+        }
+
+        return new CompiledScene(scene.getId(), compiler.strings.toArray(new String[0]), sceneFlags,
+            offsets, Arrays.copyOf(compiler.program, compiler.size), scene.esCierre());
+    }
+
+    // ==================== ESCENA ====================
+
+    public String getId() { return id; }
+    public boolean isClosing() { return closing; }
+    public int getOptionCount() { return optionOffsets.length; }
+
+    /**
+     * Aplica los flags que la escena activa al entrar.
+     */
+    public void applySceneFlags(FlagSet flags) {
+        for (int entry : sceneFlags) {
+            flags.set(entry >>> 1, (entry & 1) != 0);
+        }
+    }
+
+    public boolean hasSceneFlags() {
+        return sceneFlags.length > 0;
+    }
+
+    /**
+     * Escribe en {@code out} los índices de las opciones visibles y devuelve cuántas son.
+     * {@code out} debe tener al menos {@link #getOptionCount()} posiciones.
+     */
+    public int collectVisible(FlagSet flags, int[] out) {
+        int count = 0;
+        for (int option = 0; option < optionOffsets.length; option++) {
+            if (isVisible(option, flags)) out[count++] = option;
+        }
+        return count;
+    }
+
+    // ==================== OPCIONES ====================
+
+    public String getOptionText(int option) { return string(program[optionOffsets[option] + TEXT]); }
+    public String getNextScene(int option) { return string(program[optionOffsets[option] + NEXT]); }
+    public String getFailScene(int option) { return string(program[optionOffsets[option] + FAIL]); }
+
+    /**
+     * Combinación de EFFECT_CHARACTER / EFFECT_FLAGS: qué estado modifican las consecuencias.
+     */
+    public int getEffects(int option) { return program[optionOffsets[option] + EFFECTS]; }
+
+    /**
+     * Cada flag requerido debe estar asignado con el valor exacto (igual que SceneOption.esVisible).
+     */
+    public boolean isVisible(int option, FlagSet flags) {
+        int pc = optionOffsets[option] + FLAGS;
+        int end = pc + 1 + program[pc];
+        for (pc++; pc < end; pc++) {
+            int flagId = program[pc] >>> 1;
+            boolean expected = (program[pc] & 1) != 0;
+            if (!flags.isAssigned(flagId) || flags.isSet(flagId) != expected) return false;
+        }
+        return true;
+    }
+
+    public int getCheckCount(int option) {
+        return program[checksAt(option)];
+    }
+
+    public StatType getCheckStat(int option, int check) {
+        return STATS[program[checksAt(option) + 1 + check * 2]];
+    }
+
+    public boolean passesCheck(int option, int check, Character character) {
+        int pc = checksAt(option) + 1 + check * 2;
+        return AttributeCheck.evaluar(STATS[program[pc]], program[pc + 1], character);
+    }
+
+    public boolean passesChecks(int option, Character character) {
+        int pc = checksAt(option);
+        int end = pc + 1 + program[pc] * 2;
+        for (pc++; pc < end; pc += 2) {
+            if (!AttributeCheck.evaluar(STATS[program[pc]], program[pc + 1], character)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Igual que {@link #passesChecks} pero evalúa todos los checks y registra cada
+     * resultado en el log (CHECK_PASSED / CHECK_FAILED con stat y mínimo).
+     */
+    public boolean evaluateChecks(int option, Character character, GameLog log) {
+        int pc = checksAt(option);
+        int end = pc + 1 + program[pc] * 2;
+        boolean passes = true;
+        for (pc++; pc < end; pc += 2) {
+            boolean passed = AttributeCheck.evaluar(STATS[program[pc]], program[pc + 1], character);
+            if (log != null) {
+                log.add(passed ? LogEvent.Type.CHECK_PASSED : LogEvent.Type.CHECK_FAILED,
+                    program[pc], program[pc + 1], LogEvent.NO_KEY);
+            }
+            passes &= passed;
+        }
+        return passes;
+    }
+
+    public void applyConsequences(int option, Character character, FlagSet flags, GameLog log) {
+        int pc = consequencesAt(option);
+        int end = pc + 1 + program[pc] * 3;
+        for (pc++; pc < end; pc += 3) {
+            int opcode = program[pc];
+            int value = program[pc + 1];
+            int operand = program[pc + 2];
+            if (opcode == OP_SET_FLAG) {
+                flags.set(operand, value > 0);
+            } else {
+                Consequence.aplicar(CONSEQUENCES[opcode], string(operand), value, character, flags, log);
+            }
+        }
+    }
+
+    private int checksAt(int option) {
+        int flagsAt = optionOffsets[option] + FLAGS;
+        return flagsAt + 1 + program[flagsAt];
+    }
+
+    private int consequencesAt(int option) {
+        int checksAt = checksAt(option);
+        return checksAt + 1 + program[checksAt] * 2;
+    }
+
+    private String string(int index) {
+        return index < 0 ? null : strings[index];
+    }
+
+    private static int encodeFlag(String name, boolean value) {
+        return FlagRegistry.intern(name) << 1 | (value ? 1 : 0);
+    }
+
+    /**
+     * Arma el programa y el pool de strings de una escena.
+     */
+    private static final class Compiler {
+        private final List<String> strings = new ArrayList<>();
+        private final Map<String, Integer> stringIds = new HashMap<>();
+        private int[] program = new int[64];
+        private int size;
+
+        void addOption(SceneOption option) {
+            emit(intern(option.getTexto()));
+            emit(intern(option.getSiguienteEscena()));
+            emit(intern(option.getEscenaFallo()));
+            emit(effectsOf(option));
+
+            emit(option.getFlagsRequeridos().size());
+            for (Map.Entry<String, Boolean> flag : option.getFlagsRequeridos().entrySet()) {
+                emit(encodeFlag(flag.getKey(), flag.getValue()));
+            }
+
+            emit(option.getChecks().size());
+            for (AttributeCheck check : option.getChecks()) {
+                emit(check.getTipo().ordinal());
+                emit(check.getValorMinimo());
+            }
+
+            emit(option.getConsecuencias().size());
+            for (Consequence consequence : option.getConsecuencias()) {
+                int opcode = consequence.getTipo().ordinal();
+                emit(opcode);
+                emit(consequence.getValor());
+                emit(opcode == OP_SET_FLAG ? FlagRegistry.intern(consequence.getKey()) : intern(consequence.getKey()));
+            }
+        }
+
+        private static int effectsOf(SceneOption option) {
+            int effects = 0;
+            for (Consequence consequence : option.getConsecuencias()) {
+                int opcode = consequence.getTipo().ordinal();
+                if (opcode == OP_SET_FLAG) {
+                    effects |= EFFECT_FLAGS;
+                } else if (opcode != OP_ADD_LOG) {
+                    effects |= EFFECT_CHARACTER;
+                }
+            }
+            return effects;
+        }
+
+        private int intern(String value) {
+            if (value == null) return -1;
+            Integer index = stringIds.get(value);
+            if (index == null) {
+                index = strings.size();
+                strings.add(value);
+                stringIds.put(value, index);
+            }
+            return index;
+        }
+
+        private void emit(int value) {
+            if (size == program.length) {
+                program = Arrays.copyOf(program, size * 2);
+            }
+            program[size++] = value;
+        }
+    }
+}
@@ -0,0 +1,402 @@
+package com.neonthread;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Journal persistente y append-only detrás de GameLog (KISS).
+ *
+ * GameLog sigue siendo el ring en memoria (la cola caliente); cada entrada además se
+ * encola acá y un único hilo escritor la copia a segmentos de tamaño fijo mapeados en
+ * memoria. El fsync (force) se hace por lotes, como mucho cada {@link #FORCE_INTERVAL_MS}.
+ *
+ * Formato de cada registro: [int largo+1][long timestamp][byte tipo][byte stat]
+ * [int delta][bytes UTF-8 del texto o la key]. Los eventos se guardan tipados, igual
+ * que en GameLog, y se traducen al leerlos; la key va como texto porque los ids de
+ * LogEvent no son estables entre ejecuciones. El largo se escribe último: un registro cortado por un crash queda en 0 y la lectura se detiene
+ * ahí. Cada segmento guarda un checkpoint cada {@link #CHECKPOINT_INTERVAL} entradas,
+ * así {@link #readPage} salta a cualquier entrada sin leer el journal completo.
+ */
+public final class GameJournal implements AutoCloseable {
+    public static final String DEFAULT_DIRECTORY = "saves/journal";
+
+    static final int SEGMENT_SIZE = 4 << 20;
+    private static final int MAX_SEGMENTS = 64; // Retención: ~256 MB
+    private static final int CHECKPOINT_INTERVAL = 256;
+    private static final long FORCE_INTERVAL_MS = 250;
+    private static final int RECORD_HEADER = 18;
+    private static final int TYPE_OFFSET = 12;
+    private static final int STAT_OFFSET = 13;
+    private static final int DELTA_OFFSET = 14;
+    private static final int MAX_MESSAGE_BYTES = 16 * 1024;
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final byte[] EMPTY = new byte[0];
+
+    private static final Record CLOSE = new Record(LogEvent.Type.TEXT, LogEvent.NO_STAT, 0, null, 0L);
+
+    private final Path directory;
+    private final BlockingQueue<Record> queue = new LinkedBlockingQueue<>();
+    private final List<Segment> segments = new ArrayList<>(); // Protegido por this
+    private final Thread writer;
+    private volatile boolean closed;
+
+    private static final class Record {
+        final LogEvent.Type type;
+        final int stat;
+        final int delta;
+        final String text; // Texto libre (TEXT) o nombre de la key
+        final long timestamp;
+
+        Record(LogEvent.Type type, int stat, int delta, String text, long timestamp) {
+            this.type = type;
+            this.stat = stat;
+            this.delta = delta;
+            this.text = text;
+            this.timestamp = timestamp;
+        }
+    }
+
+    /**
+     * Segmento mapeado. Solo el escritor modifica el buffer; los contadores se
+     * publican bajo el lock del journal.
+     */
+    private static final class Segment {
+        final long number;
+        final Path path;
+        final MappedByteBuffer buffer;
+        long firstEntry;
+        int entries;
+        int writeOffset;
+        int[] checkpoints = new int[8];
+
+        Segment(long number, Path path, MappedByteBuffer buffer, long firstEntry) {
+            this.number = number;
+            this.path = path;
+            this.buffer = buffer;
+            this.firstEntry = firstEntry;
+        }
+
+        void addCheckpoint(int offset) {
+            int slot = entries / CHECKPOINT_INTERVAL;
+            if (slot == checkpoints.length) {
+                checkpoints = Arrays.copyOf(checkpoints, slot * 2);
+            }
+            checkpoints[slot] = offset;
+        }
+    }
+
+    private GameJournal(Path directory) {
+        this.directory = directory;
+        this.writer = new Thread(this::writeLoop, "journal-writer");
+        this.writer.setDaemon(true);
+    }
+
+    /**
+     * Abre (o crea) el journal en el directorio y recupera los segmentos existentes.
+     */
+    public static GameJournal open(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        GameJournal journal = new GameJournal(directory);
+        journal.recover();
+        journal.writer.start();
+        return journal;
+    }
+
+    public static GameJournal open() throws IOException {
+        return open(Paths.get(DEFAULT_DIRECTORY));
+    }
+
+    // ==================== ESCRITURA ====================
+
+    /**
+     * Encola una entrada de texto libre. No bloquea: la escribe el hilo del journal.
+     */
+    public void append(String message, long timestamp) {
+        if (message == null) return;
+        append(LogEvent.Type.TEXT, LogEvent.NO_STAT, 0, message, timestamp);
+    }
+
+    /**
+     * Encola un evento tipado; {@code key} puede ser null.
+     */
+    public void append(LogEvent.Type type, int stat, int delta, String key, long timestamp) {
+        if (closed) return;
+        queue.offer(new Record(type, stat, delta, key, timestamp));
+    }
+
+    /**
+     * Escribe lo pendiente, hace force y detiene el escritor. Idempotente.
+     */
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        queue.offer(CLOSE);
+        try {
+            writer.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeLoop() {
+        List<Record> batch = new ArrayList<>();
+        long lastForce = System.currentTimeMillis();
+        boolean dirty = false;
+        boolean running = true;
+        try {
+            while (running) {
+                Record first = queue.poll(FORCE_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, 4095);
+                    for (Record record : batch) {
+                        if (record == CLOSE) {
+                            running = false;
+                        } else {
+                            write(record);
+                            dirty = true;
+                        }
+                    }
+                    batch.clear();
+                }
+
+                long now = System.currentTimeMillis();
+                if (dirty && (!running || first == null || now - lastForce >= FORCE_INTERVAL_MS)) {
+                    activeSegment().buffer.force();
+                    lastForce = now;
+                    dirty = false;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            System.err.println("Error writing game journal: " + e.getMessage());
+            e.printStackTrace();
+            closed = true;
+        }
+    }
+
+    private void write(Record record) throws IOException {
+        byte[] bytes = record.text == null ? EMPTY : record.text.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_MESSAGE_BYTES) {
+            bytes = Arrays.copyOf(bytes, utf8Boundary(bytes, MAX_MESSAGE_BYTES));
+        }
+        int size = RECORD_HEADER + bytes.length;
+
+        Segment segment = activeSegment();
+        if (segment.writeOffset + size > SEGMENT_SIZE) {
+            segment.buffer.force();
+            segment = roll();
+        }
+
+        int offset = segment.writeOffset;
+        segment.buffer.putLong(offset + 4, record.timestamp);
+        segment.buffer.put(offset + TYPE_OFFSET, (byte) record.type.ordinal());
+        segment.buffer.put(offset + STAT_OFFSET, (byte) record.stat);
+        segment.buffer.putInt(offset + DELTA_OFFSET, record.delta);
+        segment.buffer.put(offset + RECORD_HEADER, bytes);
+        segment.buffer.putInt(offset, bytes.length + 1); // Último: el registro queda completo
+
+        synchronized (this) {
+            if (segment.entries % CHECKPOINT_INTERVAL == 0) {
+                segment.addCheckpoint(offset);
+            }
+            segment.entries++;
+            segment.writeOffset = offset + size;
+        }
+    }
+
+    /**
+     * Mayor corte {@code <= max} que no parte una secuencia UTF-8: si el primer byte que
+     * queda afuera es de continuación (10xxxxxx), se retrocede hasta el byte inicial.
+     */
+    private static int utf8Boundary(byte[] bytes, int max) {
+        int end = max;
+        while (end > 0 && (bytes[end] & 0xC0) == 0x80) {
+            end--;
+        }
+        return end;
+    }
+
+    private synchronized Segment activeSegment() {
+        return segments.get(segments.size() - 1);
+    }
+
+    private Segment roll() throws IOException {
+        Segment previous = activeSegment();
+        Segment next = createSegment(previous.number + 1, previous.firstEntry + previous.entries);
+        synchronized (this) {
+            segments.add(next);
+            while (segments.size() > MAX_SEGMENTS) {
+                Segment oldest = segments.remove(0);
+                try {
+                    Files.deleteIfExists(oldest.path);
+                } catch (IOException e) {
+                    System.err.println("Error deleting journal segment " + oldest.path + ": " + e.getMessage());
+                }
+            }
+        }
+        return next;
+    }
+
+    // ==================== RECUPERACIÓN ====================
+
+    private void recover() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+        files.sort(null); // Número con ceros a la izquierda: orden lexicográfico = orden de escritura
+
+        // Retención también al arrancar: si roll() no pudo borrar un segmento (p. ej. un
+        // archivo mapeado en Windows), se reintenta acá y, falle o no, no se vuelve a mapear
+        int excess = Math.max(0, files.size() - MAX_SEGMENTS);
+        for (Path stale : files.subList(0, excess)) {
+            try {
+                Files.deleteIfExists(stale);
+            } catch (IOException e) {
+                System.err.println("Error deleting journal segment " + stale + ": " + e.getMessage());
+            }
+        }
+        files = files.subList(excess, files.size());
+
+        long nextEntry = 0;
+        for (Path file : files) {
+            Segment segment = new Segment(segmentNumber(file), file, map(file), nextEntry);
+            scan(segment);
+            segments.add(segment);
+            nextEntry += segment.entries;
+        }
+        if (segments.isEmpty()) {
+            segments.add(createSegment(0, 0));
+        }
+    }
+
+    /**
+     * Recorre los registros completos del segmento reconstruyendo contadores y checkpoints.
+     */
+    private static void scan(Segment segment) {
+        int offset = 0;
+        while (offset + RECORD_HEADER <= SEGMENT_SIZE) {
+            int length = segment.buffer.getInt(offset) - 1;
+            if (length < 0 || offset + RECORD_HEADER + length > SEGMENT_SIZE) break;
+            if (segment.entries % CHECKPOINT_INTERVAL == 0) {
+                segment.addCheckpoint(offset);
+            }
+            segment.entries++;
+            offset += RECORD_HEADER + length;
+        }
+        segment.writeOffset = offset;
+    }
+
+    private Segment createSegment(long number, long firstEntry) throws IOException {
+        Path file = directory.resolve(String.format("%s%012d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+        return new Segment(number, file, map(file), firstEntry);
+    }
+
+    private static MappedByteBuffer map(Path file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw");
+             FileChannel channel = raf.getChannel()) {
+            // El mapeo sigue siendo válido después de cerrar el canal
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, SEGMENT_SIZE);
+        }
+    }
+
+    private static long segmentNumber(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+
+    // ==================== LECTURA ====================
+
+    /**
+     * Índice de la entrada más vieja que sigue en disco (las anteriores se descartaron por retención).
+     */
+    public synchronized long getFirstEntry() {
+        return segments.get(0).firstEntry;
+    }
+
+    /**
+     * Índice siguiente a la última entrada escrita (las encoladas aún no cuentan).
+     */
+    public synchronized long getEntryCount() {
+        Segment last = segments.get(segments.size() - 1);
+        return last.firstEntry + last.entries;
+    }
+
+    /**
+     * Lee hasta {@code maxEntries} entradas a partir del índice global {@code fromEntry}.
+     * Cuesta O(checkpoint + página), no O(journal).
+     */
+    public synchronized List<GameLog.LogEntry> readPage(long fromEntry, int maxEntries) {
+        List<GameLog.LogEntry> page = new ArrayList<>(Math.max(0, Math.min(maxEntries, 1024)));
+        long entry = Math.max(fromEntry, getFirstEntry());
+        int segmentIndex = findSegment(entry);
+        if (segmentIndex < 0) return page;
+
+        while (segmentIndex < segments.size() && page.size() < maxEntries) {
+            Segment segment = segments.get(segmentIndex);
+            int local = (int) (entry - segment.firstEntry);
+            int offset = segment.checkpoints[local / CHECKPOINT_INTERVAL];
+            for (int skip = local % CHECKPOINT_INTERVAL; skip > 0; skip--) {
+                offset += RECORD_HEADER + segment.buffer.getInt(offset) - 1;
+            }
+            for (; local < segment.entries && page.size() < maxEntries; local++) {
+                int length = segment.buffer.getInt(offset) - 1;
+                long timestamp = segment.buffer.getLong(offset + 4);
+                LogEvent.Type type = LogEvent.typeOf(segment.buffer.get(offset + TYPE_OFFSET));
+                byte[] bytes = new byte[length];
+                segment.buffer.get(offset + RECORD_HEADER, bytes);
+                String text = new String(bytes, StandardCharsets.UTF_8);
+                if (type == LogEvent.Type.TEXT) {
+                    page.add(new GameLog.LogEntry(text, timestamp));
+                } else {
+                    page.add(new GameLog.LogEntry(type, segment.buffer.get(offset + STAT_OFFSET),
+                        segment.buffer.getInt(offset + DELTA_OFFSET), length > 0 ? text : null, timestamp));
+                }
+                offset += RECORD_HEADER + length;
+                entry++;
+            }
+            segmentIndex++;
+        }
+        return page;
+    }
+
+    private int findSegment(long entry) {
+        int low = 0;
+        int high = segments.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            Segment segment = segments.get(mid);
+            if (entry < segment.firstEntry) {
+                high = mid - 1;
+            } else if (entry >= segment.firstEntry + segment.entries) {
+                low = mid + 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+}
@@ -1,77 +1,352 @@
 package com.neonthread;
 
+import com.neonthread.stats.StatType;
+
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
  * Sistema de logs del juego (KISS).
  * Registra eventos y acciones del jugador.
+ *
+ * Buffer circular de capacidad fija con arrays paralelos: agregar es O(1) y al
+ * llenarse se pisa la entrada más vieja. Las lecturas usan vistas de solo lectura
+ * sobre el buffer, sin copiar entradas.
+ *
+ * Cada entrada es un {@link LogEvent} guardado como primitivos (tipo, stat, delta, key);
+ * el texto solo se arma en {@link #getMessage(int)}, cuando alguien lo muestra. El
+ * texto libre (TEXT) guarda la referencia al String tal como llegó.
  */
 public class GameLog {
-    private List<LogEntry> entries;
-    private int maxEntries;
-    
+    private static final byte TEXT = (byte) LogEvent.Type.TEXT.ordinal();
+
+    private final String[] messages; // Solo eventos TEXT
+    private final long[] timestamps;
+    private final byte[] types;
+    private final byte[] stats;
+    private final int[] deltas;
+    private final int[] keys;
+    private int head; // Próxima posición a escribir
+    private int size;
+    private GameJournal journal; // Opcional: copia durable de todas las entradas
+    private final GameLogIndex index = new GameLogIndex();
+    private int mission = LogEvent.NO_KEY; // Misión en curso: se guarda con cada evento
+
     public GameLog() {
         this(100); // Máximo 100 entradas por defecto
     }
-    
+
     public GameLog(int maxEntries) {
-        this.entries = new ArrayList<>();
-        this.maxEntries = maxEntries;
+        int capacity = Math.max(1, maxEntries);
+        this.messages = new String[capacity];
+        this.timestamps = new long[capacity];
+        this.types = new byte[capacity];
+        this.stats = new byte[capacity];
+        this.deltas = new int[capacity];
+        this.keys = new int[capacity];
     }
-    
+
     /**
-     * Agrega una nueva entrada al log.
+     * Agrega una entrada de texto libre (ya armado, p. ej. contenido de una escena). O(1).
      */
     public void add(String message) {
-        entries.add(new LogEntry(message, System.currentTimeMillis()));
-        
-        // Mantener solo las últimas N entradas
-        if (entries.size() > maxEntries) {
-            entries.remove(0);
+        long timestamp = System.currentTimeMillis();
+        messages[head] = message;
+        write(LogEvent.Type.TEXT, LogEvent.NO_STAT, 0, LogEvent.NO_KEY, timestamp);
+        index.append(LogEvent.Type.TEXT, LogEvent.NO_STAT, 0, LogEvent.NO_KEY, mission, timestamp);
+        if (journal != null) {
+            journal.append(message, timestamp);
+        }
+    }
+
+    /**
+     * Agrega un evento tipado sin armar texto. O(1).
+     */
+    public void add(LogEvent.Type type, int stat, int delta, int key) {
+        long timestamp = System.currentTimeMillis();
+        messages[head] = null;
+        write(type, stat, delta, key, timestamp);
+        index.append(type, stat, delta, key, mission, timestamp);
+        if (journal != null) {
+            journal.append(type, stat, delta, LogEvent.keyName(key), timestamp);
+        }
+    }
+
+    /**
+     * Evento sin datos (p. ej. CHECK_FAILED).
+     */
+    public void add(LogEvent.Type type) {
+        add(type, LogEvent.NO_STAT, 0, LogEvent.NO_KEY);
+    }
+
+    /**
+     * Evento con un nombre asociado (misión, item, escena).
+     */
+    public void add(LogEvent.Type type, String key) {
+        add(type, LogEvent.NO_STAT, 0, LogEvent.intern(key));
+    }
+
+    /**
+     * Cambio de un stat (STAT_CHANGED, REWARD).
+     */
+    public void add(LogEvent.Type type, StatType stat, int delta) {
+        add(type, stat.ordinal(), delta, LogEvent.NO_KEY);
+    }
+
+    private void write(LogEvent.Type type, int stat, int delta, int key, long timestamp) {
+        timestamps[head] = timestamp;
+        types[head] = (byte) type.ordinal();
+        stats[head] = (byte) stat;
+        deltas[head] = delta;
+        keys[head] = key;
+        head = (head + 1) % messages.length;
+        if (size < messages.length) {
+            size++;
+        }
+    }
+
+    /**
+     * Marca la misión en curso; los eventos siguientes quedan indexados bajo ella.
+     * null al terminar la misión.
+     */
+    public void setMission(String missionId) {
+        this.mission = LogEvent.intern(missionId);
+    }
+
+    public String getMission() {
+        return LogEvent.keyName(mission);
+    }
+
+    /**
+     * Índices por tipo, stat, misión y tiempo sobre los últimos eventos de la partida
+     * (ventana acotada, ver {@link GameLogIndex}).
+     */
+    public GameLogIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * Conecta un journal persistente: el ring queda como cola caliente en memoria
+     * y el historial completo se puede paginar desde el journal.
+     */
+    public void setJournal(GameJournal journal) {
+        this.journal = journal;
+    }
+
+    public GameJournal getJournal() {
+        return journal;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int getCapacity() {
+        return messages.length;
+    }
+
+    /**
+     * Mensaje por posición lógica: 0 es la entrada más vieja que sigue en el buffer.
+     * Los eventos tipados se traducen acá, con el idioma activo.
+     */
+    public String getMessage(int index) {
+        int slot = slot(index);
+        if (types[slot] == TEXT) {
+            return messages[slot];
+        }
+        return LogEvent.render(LogEvent.typeOf(types[slot]), stats[slot], deltas[slot], LogEvent.keyName(keys[slot]));
+    }
+
+    public LogEvent.Type getType(int index) {
+        return LogEvent.typeOf(types[slot(index)]);
+    }
+
+    /**
+     * Ordinal de StatType del evento, o {@link LogEvent#NO_STAT}.
+     */
+    public int getStat(int index) {
+        return stats[slot(index)];
+    }
+
+    public int getDelta(int index) {
+        return deltas[slot(index)];
+    }
+
+    /**
+     * Id de la key del evento ({@link LogEvent#keyName(int)}), o {@link LogEvent#NO_KEY}.
+     */
+    public int getKey(int index) {
+        return keys[slot(index)];
+    }
+
+    /**
+     * Cantidad de eventos de un tipo entre las entradas del buffer.
+     */
+    public int count(LogEvent.Type type) {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (types[slot(i)] == type.ordinal()) count++;
         }
+        return count;
     }
-    
+
+    public long getTimestamp(int index) {
+        return timestamps[slot(index)];
+    }
+
     /**
-     * Obtiene todas las entradas del log.
+     * Último mensaje registrado, o null si el log está vacío.
+     */
+    public String getLatestMessage() {
+        return size == 0 ? null : getMessage(size - 1);
+    }
+
+    /**
+     * Vista en vivo de las últimas N entradas (de la más vieja a la más nueva), sin copiar.
+     */
+    public View recent(int count) {
+        return new View(count);
+    }
+
+    /**
+     * Obtiene todas las entradas del log (copia).
      */
     public List<LogEntry> getEntries() {
-        return new ArrayList<>(entries);
+        return new ArrayList<>(getRecentEntries(size));
     }
-    
+
     /**
-     * Obtiene las últimas N entradas.
+     * Obtiene las últimas N entradas como lista de solo lectura respaldada por el buffer.
      */
     public List<LogEntry> getRecentEntries(int count) {
-        int start = Math.max(0, entries.size() - count);
-        return new ArrayList<>(entries.subList(start, entries.size()));
+        View view = recent(count);
+        return new AbstractList<LogEntry>() {
+            @Override
+            public LogEntry get(int index) {
+                return view.getEntry(index);
+            }
+
+            @Override
+            public int size() {
+                return view.size();
+            }
+        };
     }
-    
+
     /**
-     * Limpia el log.
+     * Limpia el log en memoria y sus índices (el journal conserva el historial).
      */
     public void clear() {
-        entries.clear();
+        Arrays.fill(messages, null);
+        head = 0;
+        size = 0;
+        mission = LogEvent.NO_KEY;
+        index.clear();
+    }
+
+    private int slot(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+        int oldest = head - size;
+        if (oldest < 0) oldest += messages.length;
+        return (oldest + index) % messages.length;
+    }
+
+    /**
+     * Ventana de las últimas N entradas. Se recalcula contra el estado actual del buffer
+     * en cada acceso, así que refleja entradas agregadas después de crearla.
+     */
+    public final class View {
+        private final int count;
+
+        private View(int count) {
+            this.count = Math.max(0, count);
+        }
+
+        public int size() {
+            return Math.min(count, size);
+        }
+
+        public String getMessage(int index) {
+            return GameLog.this.getMessage(offset() + checkIndex(index));
+        }
+
+        public long getTimestamp(int index) {
+            return GameLog.this.getTimestamp(offset() + checkIndex(index));
+        }
+
+        public LogEvent.Type getType(int index) {
+            return GameLog.this.getType(offset() + checkIndex(index));
+        }
+
+        LogEntry getEntry(int index) {
+            int slot = slot(offset() + checkIndex(index));
+            if (types[slot] == TEXT) {
+                return new LogEntry(messages[slot], timestamps[slot]);
+            }
+            return new LogEntry(LogEvent.typeOf(types[slot]), stats[slot], deltas[slot],
+                LogEvent.keyName(keys[slot]), timestamps[slot]);
+        }
+
+        private int offset() {
+            return size - size();
+        }
+
+        private int checkIndex(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size());
+            }
+            return index;
+        }
     }
-    
+
     /**
-     * Entrada individual del log (DRY).
+     * Entrada individual del log (DRY). El texto de los eventos tipados se arma al pedirlo.
      */
     public static class LogEntry {
+        private final LogEvent.Type type;
+        private final int stat;
+        private final int delta;
+        private final String key;
+        private final long timestamp;
         private String message;
-        private long timestamp;
-        
+
         public LogEntry(String message, long timestamp) {
+            this(LogEvent.Type.TEXT, LogEvent.NO_STAT, 0, null, timestamp);
             this.message = message;
+        }
+
+        public LogEntry(LogEvent.Type type, int stat, int delta, String key, long timestamp) {
+            this.type = type;
+            this.stat = stat;
+            this.delta = delta;
+            this.key = key;
             this.timestamp = timestamp;
         }
-        
-        public String getMessage() { return message; }
+
+        public String getMessage() {
+            if (message == null && type != LogEvent.Type.TEXT) {
+                message = LogEvent.render(type, stat, delta, key);
+            }
+            return message;
+        }
+
+        public LogEvent.Type getType() { return type; }
+        public int getStat() { return stat; }
+        public int getDelta() { return delta; }
+        public String getKey() { return key; }
         public long getTimestamp() { return timestamp; }
-        
+
         @Override
         public String toString() {
-            return message;
+            return getMessage();
         }
     }
 }
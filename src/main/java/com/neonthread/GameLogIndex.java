@@ -0,0 +1,365 @@
+package com.neonthread;
+
+import com.neonthread.stats.StatType;
+
+import java.util.Arrays;
+
+/**
+ * Índices secundarios sobre los eventos del GameLog (KISS).
+ *
+ * GameLog le pasa cada evento al agregarlo; acá se guardan sus primitivos (tipo, stat,
+ * delta, key, misión, timestamp) en columnas circulares junto con listas de ids por tipo,
+ * por tipo+stat y por misión. Como los ids crecen con el tiempo, un rango de timestamps es
+ * un rango de ids que se encuentra con búsqueda binaria. Una consulta cuesta
+ * O(log n + resultados) en lugar de recorrer el log.
+ *
+ * Memoria acotada: retiene los últimos {@link #DEFAULT_CAPACITY} eventos (bastante más que
+ * el ring de GameLog, para que las consultas cubran una misión entera). Al llenarse, el
+ * evento más viejo sale de las columnas y de la cabeza de sus listas de ids, así que el
+ * índice nunca crece con la duración de la sesión. No guarda textos: el texto libre se lee
+ * del ring o del journal. Se vacía con {@link GameLog#clear()}.
+ */
+public final class GameLogIndex {
+    static final int DEFAULT_CAPACITY = 1 << 16;
+
+    private static final int TYPE_COUNT = LogEvent.Type.values().length;
+    private static final int STAT_COUNT = StatType.values().length;
+    private static final Postings EMPTY = new Postings();
+
+    // Columnas circulares: el evento con id n vive en el slot n & mask
+    private final int mask;
+    private final byte[] types;
+    private final byte[] stats;
+    private final int[] deltas;
+    private final int[] keys;
+    private final int[] missions;
+    private final long[] timestamps;
+    private int first; // Id más viejo retenido
+    private int next;  // Id del próximo evento
+
+    private final Postings[] byType = new Postings[TYPE_COUNT];
+    private final Postings[] byTypeStat = new Postings[TYPE_COUNT * STAT_COUNT];
+    private Postings[] byMission = new Postings[16]; // Por id de key de la misión
+
+    /**
+     * Cola creciente de ids de evento: se agrega al final y se desaloja por la cabeza.
+     */
+    private static final class Postings {
+        int[] ids = new int[16];
+        int start;
+        int end;
+
+        void add(int id) {
+            if (end == ids.length) {
+                int count = end - start;
+                int[] target = count * 2 > ids.length ? new int[ids.length * 2] : ids;
+                System.arraycopy(ids, start, target, 0, count);
+                ids = target;
+                start = 0;
+                end = count;
+            }
+            ids[end++] = id;
+        }
+
+        /** Quita la cabeza; true si la lista quedó vacía. */
+        boolean removeFirst() {
+            return ++start == end;
+        }
+
+        int size() {
+            return end - start;
+        }
+
+        /** Primera posición con id >= value. */
+        int lowerBound(int value) {
+            int low = start;
+            int high = end;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (ids[mid] < value) low = mid + 1;
+                else high = mid;
+            }
+            return low;
+        }
+    }
+
+    GameLogIndex() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity eventos retenidos; se redondea a potencia de 2
+     */
+    GameLogIndex(int capacity) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.mask = size - 1;
+        this.types = new byte[size];
+        this.stats = new byte[size];
+        this.deltas = new int[size];
+        this.keys = new int[size];
+        this.missions = new int[size];
+        this.timestamps = new long[size];
+    }
+
+    void append(LogEvent.Type type, int stat, int delta, int key, int mission, long timestamp) {
+        if (next - first == types.length) {
+            evictOldest();
+        }
+        int id = next++;
+        int slot = id & mask;
+        // Timestamps no decrecientes para poder bisecar aunque el reloj retroceda
+        long previous = id > first ? timestamps[(id - 1) & mask] : Long.MIN_VALUE;
+        types[slot] = (byte) type.ordinal();
+        stats[slot] = (byte) stat;
+        deltas[slot] = delta;
+        keys[slot] = key;
+        missions[slot] = mission;
+        timestamps[slot] = Math.max(timestamp, previous);
+
+        postings(byType, type.ordinal()).add(id);
+        if (stat >= 0) {
+            postings(byTypeStat, type.ordinal() * STAT_COUNT + stat).add(id);
+        }
+        if (mission >= 0) {
+            if (mission >= byMission.length) {
+                byMission = Arrays.copyOf(byMission, Math.max(mission + 1, byMission.length * 2));
+            }
+            postings(byMission, mission).add(id);
+        }
+    }
+
+    /**
+     * El id más viejo es siempre la cabeza de cada lista que lo contiene: sacarlo es O(1).
+     */
+    private void evictOldest() {
+        int slot = first & mask;
+        int type = types[slot];
+        removeHead(byType, type);
+        if (stats[slot] >= 0) {
+            removeHead(byTypeStat, type * STAT_COUNT + stats[slot]);
+        }
+        if (missions[slot] >= 0) {
+            removeHead(byMission, missions[slot]);
+        }
+        first++;
+    }
+
+    private static void removeHead(Postings[] index, int slot) {
+        if (index[slot].removeFirst()) {
+            index[slot] = null; // Lista vacía: se libera
+        }
+    }
+
+    void clear() {
+        first = 0;
+        next = 0;
+        Arrays.fill(byType, null);
+        Arrays.fill(byTypeStat, null);
+        Arrays.fill(byMission, null);
+    }
+
+    private static Postings postings(Postings[] index, int slot) {
+        Postings list = index[slot];
+        if (list == null) {
+            list = new Postings();
+            index[slot] = list;
+        }
+        return list;
+    }
+
+    // ==================== LECTURA POR ID ====================
+
+    /**
+     * Eventos retenidos; sus ids van de {@link #getFirstId()} a {@code getFirstId() + size() - 1}.
+     */
+    public int size() { return next - first; }
+
+    public int getFirstId() { return first; }
+
+    public int getCapacity() { return types.length; }
+
+    public LogEvent.Type getType(int id) { return LogEvent.typeOf(types[slot(id)]); }
+    public int getStat(int id) { return stats[slot(id)]; }
+    public int getDelta(int id) { return deltas[slot(id)]; }
+    public String getKey(int id) { return LogEvent.keyName(keys[slot(id)]); }
+    public String getMission(int id) { return LogEvent.keyName(missions[slot(id)]); }
+    public long getTimestamp(int id) { return timestamps[slot(id)]; }
+
+    private int slot(int id) {
+        if (id < first || id >= next) {
+            throw new IndexOutOfBoundsException("Id: " + id + ", retained: [" + first + ", " + next + ")");
+        }
+        return id & mask;
+    }
+
+    /**
+     * Primer id con timestamp >= {@code timestamp}.
+     */
+    private int firstAtOrAfter(long timestamp) {
+        int low = first;
+        int high = next;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestamps[mid & mask] < timestamp) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    // ==================== CONSULTAS ====================
+
+    /**
+     * Nueva consulta; sin filtros devuelve todos los eventos.
+     */
+    public Query query() {
+        return new Query();
+    }
+
+    /**
+     * Filtros combinables (builder). Usa la lista de ids más chica disponible y revisa
+     * el resto de los filtros sobre las columnas.
+     */
+    public final class Query {
+        private int type = -1;
+        private int stat = -1;
+        private int mission = -1;
+        private boolean unknownMission;
+        private long from = Long.MIN_VALUE;
+        private long to = Long.MAX_VALUE;
+
+        private Query() {}
+
+        public Query type(LogEvent.Type type) {
+            this.type = type.ordinal();
+            return this;
+        }
+
+        public Query stat(StatType stat) {
+            this.stat = stat.ordinal();
+            return this;
+        }
+
+        public Query mission(String missionId) {
+            this.mission = LogEvent.find(missionId);
+            this.unknownMission = mission < 0;
+            return this;
+        }
+
+        /**
+         * Eventos con {@code from <= timestamp < to} (milisegundos de época).
+         */
+        public Query between(long from, long to) {
+            this.from = from;
+            this.to = to;
+            return this;
+        }
+
+        public Query since(long from) {
+            return between(from, Long.MAX_VALUE);
+        }
+
+        /**
+         * Ids de los eventos que cumplen todos los filtros, en orden cronológico.
+         */
+        public int[] ids() {
+            int[] out = new int[16];
+            int count = 0;
+            Cursor cursor = new Cursor();
+            for (int id = cursor.next(); id >= 0; id = cursor.next()) {
+                if (count == out.length) out = Arrays.copyOf(out, count * 2);
+                out[count++] = id;
+            }
+            return Arrays.copyOf(out, count);
+        }
+
+        public int count() {
+            int count = 0;
+            Cursor cursor = new Cursor();
+            while (cursor.next() >= 0) count++;
+            return count;
+        }
+
+        /**
+         * Suma de deltas (p. ej. cambio total de créditos en una misión).
+         */
+        public long sumDelta() {
+            long sum = 0;
+            Cursor cursor = new Cursor();
+            for (int id = cursor.next(); id >= 0; id = cursor.next()) {
+                sum += deltas[id & mask];
+            }
+            return sum;
+        }
+
+        /**
+         * Cantidad de eventos por stat (índice = ordinal de StatType).
+         */
+        public int[] countByStat() {
+            int[] counts = new int[STAT_COUNT];
+            Cursor cursor = new Cursor();
+            for (int id = cursor.next(); id >= 0; id = cursor.next()) {
+                int stat = stats[id & mask];
+                if (stat >= 0) counts[stat]++;
+            }
+            return counts;
+        }
+
+        private boolean matches(int id) {
+            int slot = id & mask;
+            return (type < 0 || types[slot] == type)
+                && (stat < 0 || stats[slot] == stat)
+                && (mission < 0 || missions[slot] == mission);
+        }
+
+        /**
+         * Recorre la lista elegida dentro del rango de ids del intervalo de tiempo.
+         */
+        private final class Cursor {
+            private final Postings list;
+            private final int end;
+            private int position;
+
+            Cursor() {
+                int low = from == Long.MIN_VALUE ? first : firstAtOrAfter(from);
+                int high = to == Long.MAX_VALUE ? next : firstAtOrAfter(to);
+                Postings chosen = smallestList();
+                if (unknownMission || low >= high) {
+                    list = null;
+                    position = 0;
+                    end = 0;
+                } else if (chosen == null) {
+                    list = null;
+                    position = low;
+                    end = high;
+                } else {
+                    list = chosen;
+                    position = chosen.lowerBound(low);
+                    end = chosen.lowerBound(high);
+                }
+            }
+
+            int next() {
+                while (position < end) {
+                    int id = list == null ? position : list.ids[position];
+                    position++;
+                    if (matches(id)) return id;
+                }
+                return -1;
+            }
+
+            private Postings smallestList() {
+                Postings best = null;
+                if (type >= 0) {
+                    best = stat >= 0 ? byTypeStat[type * STAT_COUNT + stat] : byType[type];
+                    if (best == null) return EMPTY;
+                }
+                if (mission >= 0) {
+                    Postings byId = mission < byMission.length ? byMission[mission] : null;
+                    if (byId == null) return EMPTY;
+                    if (best == null || byId.size() < best.size()) best = byId;
+                }
+                return best;
+            }
+        }
+    }
+}
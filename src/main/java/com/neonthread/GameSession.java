@@ -18,11 +18,15 @@ public class GameSession {
     private WorldState worldState;
     private UpgradeManager upgradeManager;
     private final Set<String> completedMissions = new HashSet<>();
+    private final MissionAvailabilityIndex availabilityIndex = new MissionAvailabilityIndex();
+    private MissionDependencyGraph dependencyGraph;
     
     private GameSession() {
         this.gameLog = new GameLog();
+        openJournal();
         this.worldState = WorldState.getInstance();
         this.upgradeManager = new UpgradeManager();
+        this.worldState.addListener(availabilityIndex);
     }
     
     public static GameSession getInstance() {
@@ -32,6 +36,22 @@ public class GameSession {
         return instance;
     }
 
+    /**
+     * Conecta el journal persistente al log si está habilitado en settings.
+     * Sin journal el juego sigue funcionando con el log en memoria.
+     */
+    private void openJournal() {
+        if (!com.neonthread.settings.GameSettings.getInstance().gameplay.isJournalEnabled()) return;
+        try {
+            GameJournal journal = GameJournal.open();
+            gameLog.setJournal(journal);
+            Runtime.getRuntime().addShutdownHook(new Thread(journal::close, "journal-shutdown"));
+        } catch (java.io.IOException e) {
+            System.err.println("Error opening game journal: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
     public UpgradeManager getUpgradeManager() {
         return upgradeManager;
     }
@@ -47,16 +67,29 @@ public class GameSession {
         this.worldState.reset();
         this.completedMissions.clear();
         this.upgradeManager = new UpgradeManager();
-        this.gameLog.add("Sesión iniciada: " + character.getName());
+        this.gameLog.add(LogEvent.Type.SESSION_STARTED, character.getName());
+        this.dependencyGraph = null;
+        availabilityIndex.rebuild(java.util.Collections.emptyList(), worldState, character);
         initializeStartingMissions();
     }
     
     /**
      * Inicializa las misiones de inicio.
+     * Misiones ya cargadas en segundo plano durante el arranque; si todavía no
+     * terminaron, llegan después por el EDT sin congelar la UI.
      */
     private void initializeStartingMissions() {
-        java.util.List<Mission> missions = com.neonthread.loaders.MissionLoader.loadMissions();
-        
+        District target = district;
+        com.neonthread.loaders.ContentPreloader.takeMissions(missions -> {
+            if (district != target) return; // La partida ya terminó o se reinició
+            addStartingMissions(missions);
+            dependencyGraph = MissionDependencyGraph.build(district.getMissions());
+            dependencyGraph.report();
+            availabilityIndex.rebuild(district.getMissions(), worldState, character);
+        });
+    }
+    
+    private void addStartingMissions(java.util.List<Mission> missions) {
         if (missions.isEmpty()) {
             // Fallback if no missions loaded
             Mission firstMission = MissionBuilder.createMain(
@@ -82,6 +115,8 @@ public class GameSession {
         character = null;
         district = null;
         currentMission = null;
+        dependencyGraph = null;
+        availabilityIndex.rebuild(java.util.Collections.emptyList(), worldState, null);
     }
     
     // Getters y setters
@@ -90,6 +125,8 @@ public class GameSession {
     public Mission getCurrentMission() { return currentMission; }
     public GameLog getGameLog() { return gameLog; }
     public WorldState getWorldState() { return worldState; }
+    public MissionAvailabilityIndex getAvailabilityIndex() { return availabilityIndex; }
+    public MissionDependencyGraph getDependencyGraph() { return dependencyGraph; }
     public void setCurrentMission(Mission mission) { this.currentMission = mission; }
     
     public boolean hasActiveSession() {
@@ -97,7 +134,28 @@ public class GameSession {
     }
 
     public void registerMissionCompleted(String missionId) {
-        completedMissions.add(missionId);
+        if (completedMissions.add(missionId)) {
+            if (dependencyGraph != null) {
+                dependencyGraph.complete(missionId);
+            }
+            availabilityIndex.onMissionCompleted(missionId);
+        }
+    }
+
+    /**
+     * Verifica los requirements de la misión: O(1) vía el grafo de dependencias
+     * si la misión pertenece al catálogo de la partida.
+     */
+    public boolean arePrerequisitesMet(Mission mission) {
+        if (dependencyGraph != null && dependencyGraph.contains(mission.getId())) {
+            return dependencyGraph.arePrerequisitesMet(mission.getId());
+        }
+        for (String requiredMissionId : mission.getRequirements()) {
+            if (!completedMissions.contains(requiredMissionId)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     public boolean hasCompleted(String missionId) {
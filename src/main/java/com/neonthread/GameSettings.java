@@ -24,7 +24,7 @@ public class GameSettings {
         loadSettings();
     }
     
-    public static GameSettings getInstance() {
+    public static synchronized GameSettings getInstance() {
         if (instance == null) {
             instance = new GameSettings();
         }
@@ -0,0 +1,134 @@
+package com.neonthread;
+
+import com.neonthread.localization.Localization;
+import com.neonthread.stats.StatType;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Eventos tipados del GameLog (KISS).
+ *
+ * Un evento son cuatro primitivos: tipo, stat (ordinal de StatType o -1), delta y key
+ * (id interno de un nombre: misión, item, escena; -1 = sin key). El texto se arma recién
+ * cuando una pantalla lo muestra, con el idioma activo en ese momento, así que registrar
+ * un evento en el camino caliente no construye Strings.
+ */
+public final class LogEvent {
+    public static final int NO_STAT = -1;
+    public static final int NO_KEY = -1;
+
+    private static final StatType[] STATS = StatType.values();
+    private static final Type[] TYPES = Type.values();
+
+    // Registro de keys: cada nombre se interna una vez (mismo esquema que FlagRegistry)
+    private static final Map<String, Integer> keyIds = new ConcurrentHashMap<>();
+    private static volatile String[] keyNames = new String[64];
+    private static int keyCount = 0;
+
+    /**
+     * Tipo de evento con su clave de localización y el texto por defecto.
+     * {0} es la key y {1} el delta con signo.
+     */
+    public enum Type {
+        TEXT(null, "{0}"),
+        SESSION_STARTED("log.session.started", "Sesión iniciada: {0}"),
+        MISSION_ACCEPTED("log.mission.accepted", "Misión aceptada: {0}"),
+        MISSION_VIEWED("log.mission.viewed", "Viendo misión: {0}"),
+        MISSION_COMPLETED("log.mission.completed", "Misión completada: {0}"),
+        LOCATION_UNLOCKED("log.location.unlocked", "Desbloqueado: {0}"),
+        LOCATION_VISITED("log.location.visited", "Visitando: {0}"),
+        STAT_CHANGED("log.stat.changed", "{0}: {1}"),
+        REWARD("log.reward", "Recompensa: {0} {1}"),
+        CHECK_PASSED("log.check.passed", "Check superado: {0}"),
+        CHECK_FAILED("log.check.failed", "Check fallido: {0}"),
+        ACTION_BLOCKED("log.action.blocked", "No puedes realizar esa acción"),
+        SCENE_MISSING("log.scene.missing", "Escena desconocida: {0}"),
+        ITEM_ACQUIRED("log.item.acquired", "Item adquirido: {0}"),
+        ITEM_UNKNOWN("log.item.unknown", "Error: Item desconocido {0}"),
+        ITEM_USED("log.item.used", "Item usado: {0}");
+
+        private final String localizationKey;
+        private final String defaultPattern;
+
+        Type(String localizationKey, String defaultPattern) {
+            this.localizationKey = localizationKey;
+            this.defaultPattern = defaultPattern;
+        }
+
+        String pattern() {
+            return localizationKey == null ? defaultPattern : Localization.get(localizationKey, defaultPattern);
+        }
+    }
+
+    private LogEvent() {}
+
+    public static Type typeOf(int ordinal) {
+        return TYPES[ordinal];
+    }
+
+    public static StatType statOf(int ordinal) {
+        return ordinal < 0 ? null : STATS[ordinal];
+    }
+
+    // ==================== KEYS ====================
+
+    /**
+     * Devuelve el id de la key, registrándola si es nueva. Sin asignar memoria si ya existe.
+     */
+    public static int intern(String name) {
+        if (name == null) return NO_KEY;
+        Integer id = keyIds.get(name);
+        return id != null ? id : register(name);
+    }
+
+    /**
+     * Devuelve el id de la key o {@link #NO_KEY} si nunca fue registrada (no registra).
+     */
+    public static int find(String name) {
+        if (name == null) return NO_KEY;
+        Integer id = keyIds.get(name);
+        return id != null ? id : NO_KEY;
+    }
+
+    public static String keyName(int id) {
+        return id < 0 ? null : keyNames[id];
+    }
+
+    private static synchronized int register(String name) {
+        Integer existing = keyIds.get(name);
+        if (existing != null) return existing;
+
+        if (keyCount == keyNames.length) {
+            keyNames = Arrays.copyOf(keyNames, keyCount * 2);
+        }
+        int id = keyCount++;
+        keyNames[id] = name;
+        keyIds.put(name, id);
+        return id;
+    }
+
+    // ==================== RENDER ====================
+
+    /**
+     * Arma el texto del evento en el idioma activo.
+     */
+    public static String render(Type type, int stat, int delta, String key) {
+        String first = stat != NO_STAT ? statName(stat) : key;
+        String signed = (delta > 0 ? "+" : "") + delta;
+        return type.pattern()
+            .replace("{0}", first != null ? first : "")
+            .replace("{1}", signed);
+    }
+
+    /**
+     * Nombre localizado de un stat ("log.stat.credits" → "Créditos").
+     */
+    public static String statName(int stat) {
+        StatType type = statOf(stat);
+        if (type == null) return "";
+        String name = type.name().toLowerCase();
+        return Localization.get("log.stat." + name, name);
+    }
+}
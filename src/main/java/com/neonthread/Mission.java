@@ -1,9 +1,12 @@
 package com.neonthread;
 
+import com.neonthread.flags.FlagMask;
+
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
 
 /**
  * Representa una misión del juego (KISS + DRY).
@@ -106,7 +109,14 @@ public class Mission {
      * Completa la misión con un outcome específico.
      */
     public void complete(MissionOutcome outcome, Character character) { 
-        
+        complete(outcome, character, WorldState.getInstance());
+    }
+    
+    /**
+     * Completa la misión aplicando las consecuencias sobre un WorldState explícito
+     * (partidas simuladas sin singletons).
+     */
+    public void complete(MissionOutcome outcome, Character character, WorldState worldState) {
         switch (outcome) {
             case SUCCESS:
                 this.status = MissionStatus.COMPLETED;
@@ -123,7 +133,7 @@ public class Mission {
         }
         
         // Aplicar consecuencias
-        consequences.apply(character);
+        consequences.apply(character, worldState);
     }
     
     /**
@@ -189,12 +199,17 @@ public class Mission {
      * Verifica si la misión puede aparecer según las condiciones.
      */
     public boolean canSpawn(WorldState worldState, Character character) {
-        // Verificar requisitos de misiones previas
-        GameSession session = GameSession.getInstance();
-        for (String requiredMissionId : requirements) {
-            if (!session.hasCompleted(requiredMissionId)) {
-                return false;
-            }
+        // Verificar requisitos de misiones previas (contadores del grafo de dependencias)
+        return canSpawn(worldState, character, GameSession.getInstance()::arePrerequisitesMet);
+    }
+    
+    /**
+     * Igual que {@link #canSpawn(WorldState, Character)} pero con los requisitos previos
+     * resueltos por quien llama, sin pasar por GameSession.
+     */
+    public boolean canSpawn(WorldState worldState, Character character, Predicate<Mission> prerequisitesMet) {
+        if (!prerequisitesMet.test(this)) {
+            return false;
         }
         
         return spawnConditions.isMet(worldState, character);
@@ -305,6 +320,8 @@ public class Mission {
         private List<String> requiredFlags = new ArrayList<>();
         private List<String> forbiddenFlags = new ArrayList<>();
         private String requiredDistrictState = null;
+        // Flags requeridos/prohibidos precompilados a bits al cargar la misión
+        private final FlagMask flagMask = new FlagMask();
         
         public void setMinReputation(int min) { this.minReputation = min; }
         public void setMaxReputation(int max) { this.maxReputation = max; }
@@ -312,10 +329,26 @@ public class Mission {
         public void setMaxNotoriety(int max) { this.maxNotoriety = max; }
         public void setMinKarma(int min) { this.minKarma = min; }
         public void setMaxKarma(int max) { this.maxKarma = max; }
-        public void addRequiredFlag(String flag) { this.requiredFlags.add(flag); }
-        public void addForbiddenFlag(String flag) { this.forbiddenFlags.add(flag); }
+        public void addRequiredFlag(String flag) {
+            this.requiredFlags.add(flag);
+            this.flagMask.require(flag);
+        }
+        public void addForbiddenFlag(String flag) {
+            this.forbiddenFlags.add(flag);
+            this.flagMask.forbid(flag);
+        }
         public void setRequiredDistrictState(String state) { this.requiredDistrictState = state; }
         
+        public int getMinReputation() { return minReputation; }
+        public int getMaxReputation() { return maxReputation; }
+        public int getMinNotoriety() { return minNotoriety; }
+        public int getMaxNotoriety() { return maxNotoriety; }
+        public int getMinKarma() { return minKarma; }
+        public int getMaxKarma() { return maxKarma; }
+        public List<String> getRequiredFlags() { return requiredFlags; }
+        public List<String> getForbiddenFlags() { return forbiddenFlags; }
+        public String getRequiredDistrictState() { return requiredDistrictState; }
+        
         public boolean isMet(WorldState worldState, Character character) {
             if (worldState == null) return true;
             
@@ -326,15 +359,8 @@ public class Mission {
                 if (character.getKarma() < minKarma || character.getKarma() > maxKarma) return false;
             }
             
-            // Verificar flags requeridos
-            for (String flag : requiredFlags) {
-                if (!worldState.hasFlag(flag)) return false;
-            }
-            
-            // Verificar flags prohibidos
-            for (String flag : forbiddenFlags) {
-                if (worldState.hasFlag(flag)) return false;
-            }
+            // Verificar flags requeridos y prohibidos (AND/ANDNOT por palabra)
+            if (!flagMask.matches(worldState.getFlags())) return false;
             
             // Verificar estado del distrito
             if (requiredDistrictState != null && 
@@ -369,11 +395,16 @@ public class Mission {
         public List<String> getNarrativeItems() { return narrativeItems; }
         
         /**
-         * Aplica las consecuencias al WorldState y Character.
+         * Aplica las consecuencias al WorldState global y Character.
          */
         public void apply(Character character) {
-            WorldState worldState = WorldState.getInstance();
-            
+            apply(character, WorldState.getInstance());
+        }
+        
+        /**
+         * Aplica las consecuencias al WorldState dado y Character.
+         */
+        public void apply(Character character, WorldState worldState) {
             // Aplicar flags
             for (String flag : flagsToSet) {
                 worldState.setFlag(flag, true);
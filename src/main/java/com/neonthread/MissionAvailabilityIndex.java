@@ -0,0 +1,178 @@
+package com.neonthread;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Índice reactivo de misiones disponibles (canSpawn) para la partida actual.
+ *
+ * En lugar de llamar canSpawn sobre todo el catálogo en cada refresh, mantiene mapas
+ * invertidos (flag -> misiones, misión completada -> dependientes, estado de distrito
+ * -> misiones) y re-evalúa solo las misiones afectadas por cada cambio. Las misiones
+ * con rangos de reputación/notoriedad/karma se re-evalúan cuando esos stats cambian.
+ * La lista de disponibles se cachea y se entrega como snapshot inmutable.
+ */
+public class MissionAvailabilityIndex implements WorldStateListener {
+    private final List<Mission> missions = new ArrayList<>();
+    private final Map<Mission, Integer> positions = new IdentityHashMap<>();
+    private boolean[] available = new boolean[0];
+
+    private final Map<String, List<Mission>> byFlag = new HashMap<>();
+    private final Map<String, List<Mission>> byRequirement = new HashMap<>();
+    private final List<Mission> byDistrictState = new ArrayList<>();
+    private final List<Mission> byStats = new ArrayList<>();
+
+    private WorldState worldState;
+    private Character character;
+    private Predicate<Mission> prerequisitesMet = mission -> true;
+    private int lastReputation;
+    private int lastNotoriety;
+    private int lastKarma;
+
+    private List<Mission> snapshot = Collections.emptyList();
+    private boolean snapshotDirty = false;
+
+    /**
+     * Reconstruye el índice para un nuevo catálogo (nueva partida).
+     */
+    public void rebuild(List<Mission> catalog, WorldState worldState, Character character) {
+        rebuild(catalog, worldState, character, mission -> GameSession.getInstance().arePrerequisitesMet(mission));
+    }
+    
+    /**
+     * Reconstruye el índice con los requisitos previos resueltos por el dueño del índice
+     * (GameSession o una partida simulada).
+     */
+    public void rebuild(List<Mission> catalog, WorldState worldState, Character character,
+                        Predicate<Mission> prerequisitesMet) {
+        this.worldState = worldState;
+        this.character = character;
+        this.prerequisitesMet = prerequisitesMet;
+        missions.clear();
+        positions.clear();
+        byFlag.clear();
+        byRequirement.clear();
+        byDistrictState.clear();
+        byStats.clear();
+
+        for (Mission mission : catalog) {
+            positions.put(mission, missions.size());
+            missions.add(mission);
+
+            Mission.SpawnConditions conditions = mission.getSpawnConditions();
+            for (String flag : conditions.getRequiredFlags()) addDependency(byFlag, flag, mission);
+            for (String flag : conditions.getForbiddenFlags()) addDependency(byFlag, flag, mission);
+            for (String requirement : mission.getRequirements()) addDependency(byRequirement, requirement, mission);
+            if (conditions.getRequiredDistrictState() != null) byDistrictState.add(mission);
+            if (hasStatBounds(conditions)) byStats.add(mission);
+        }
+
+        available = new boolean[missions.size()];
+        snapshotDirty = true;
+        evaluateAll();
+    }
+
+    /**
+     * Snapshot inmutable de misiones que cumplen canSpawn, en orden de catálogo.
+     */
+    public List<Mission> getAvailableMissions() {
+        syncStats();
+        if (snapshotDirty) {
+            List<Mission> list = new ArrayList<>();
+            for (int i = 0; i < missions.size(); i++) {
+                if (available[i]) list.add(missions.get(i));
+            }
+            snapshot = Collections.unmodifiableList(list);
+            snapshotDirty = false;
+        }
+        return snapshot;
+    }
+
+    public boolean isAvailable(Mission mission) {
+        syncStats();
+        Integer position = positions.get(mission);
+        if (position == null) {
+            // Misión fuera del catálogo indexado: evaluación directa
+            return mission.canSpawn(worldState, character, prerequisitesMet);
+        }
+        return available[position];
+    }
+
+    /**
+     * Llamado por GameSession al registrar una misión completada.
+     */
+    public void onMissionCompleted(String missionId) {
+        evaluate(byRequirement.get(missionId));
+    }
+
+    @Override
+    public void onWorldStateChanged(Change change, String key) {
+        switch (change) {
+            case FLAG:
+                evaluate(byFlag.get(key));
+                break;
+            case DISTRICT_STATE:
+            case DISTRICT_CHANGE:
+                evaluate(byDistrictState);
+                break;
+            case RESET:
+                evaluateAll();
+                break;
+        }
+    }
+
+    // ==================== EVALUACIÓN ====================
+
+    private void evaluateAll() {
+        evaluate(missions);
+        rememberStats();
+    }
+
+    private void evaluate(List<Mission> affected) {
+        if (affected == null) return;
+        for (Mission mission : affected) {
+            int position = positions.get(mission);
+            boolean spawnable = mission.canSpawn(worldState, character, prerequisitesMet);
+            if (available[position] != spawnable) {
+                available[position] = spawnable;
+                snapshotDirty = true;
+            }
+        }
+    }
+
+    /**
+     * Los stats del personaje se modifican directamente en muchos lugares; en vez de
+     * instrumentar cada setter se comparan tres ints antes de cada consulta.
+     */
+    private void syncStats() {
+        if (character == null || byStats.isEmpty()) return;
+        if (character.getReputation() != lastReputation
+                || character.getNotoriety() != lastNotoriety
+                || character.getKarma() != lastKarma) {
+            evaluate(byStats);
+            rememberStats();
+        }
+    }
+
+    private void rememberStats() {
+        if (character == null) return;
+        lastReputation = character.getReputation();
+        lastNotoriety = character.getNotoriety();
+        lastKarma = character.getKarma();
+    }
+
+    private static boolean hasStatBounds(Mission.SpawnConditions conditions) {
+        return conditions.getMinReputation() != Integer.MIN_VALUE || conditions.getMaxReputation() != Integer.MAX_VALUE
+            || conditions.getMinNotoriety() != Integer.MIN_VALUE || conditions.getMaxNotoriety() != Integer.MAX_VALUE
+            || conditions.getMinKarma() != Integer.MIN_VALUE || conditions.getMaxKarma() != Integer.MAX_VALUE;
+    }
+
+    private static void addDependency(Map<String, List<Mission>> index, String key, Mission mission) {
+        index.computeIfAbsent(key, k -> new ArrayList<>()).add(mission);
+    }
+}
@@ -21,7 +21,7 @@ import java.util.List;
  * </pre>
  */
 public class MissionBuilder {
-    private final String id;
+    private String id;
     private String title;
     private String description;
     private int rewardCredits = 0;
@@ -66,8 +66,20 @@ public class MissionBuilder {
         this.id = id;
     }
     
+    /**
+     * Builder sin id, para binding directo desde JSON (el id puede no ser el primer campo).
+     */
+    public MissionBuilder() {
+        this(null);
+    }
+    
     // ==================== BASIC INFO ====================
     
+    public MissionBuilder setId(String id) {
+        this.id = id;
+        return this;
+    }
+    
     public MissionBuilder setTitle(String title) {
         this.title = title;
         return this;
@@ -179,6 +191,9 @@ public class MissionBuilder {
      */
     public Mission build() {
         // Validación básica
+        if (id == null || id.isEmpty()) {
+            throw new IllegalStateException("Mission ID is missing");
+        }
         if (title == null || title.isEmpty()) {
             throw new IllegalStateException("Mission must have a title");
         }
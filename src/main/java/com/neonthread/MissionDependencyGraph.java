@@ -0,0 +1,198 @@
+package com.neonthread;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Grafo de dependencias entre misiones (requirements) para una partida (KISS).
+ *
+ * Cada misión tiene un contador de prerequisitos pendientes; completar una misión
+ * decrementa los contadores de sus dependientes (push en lugar de poll), por lo que
+ * consultar si una misión tiene sus prerequisitos es O(1) y saber qué desbloquea
+ * una misión es O(grado de salida). Al construirse calcula el orden topológico
+ * (Kahn) y detecta ciclos, requisitos que no existen en el catálogo e ids repetidos.
+ * Construir no imprime nada: los diagnósticos se consultan con {@link #getDiagnostics()}
+ * y quien carga el catálogo decide si llamar a {@link #report()}.
+ */
+public class MissionDependencyGraph {
+    private static final int[] NO_DEPENDENTS = new int[0];
+
+    private final List<Mission> missions;
+    private final Map<String, Integer> indexById = new HashMap<>();
+    private final int[][] dependents;
+    private final int[] remaining;
+    private final boolean[] completed;
+
+    private final List<String> topologicalOrder;
+    private final List<String> cycleMissionIds;
+    private final Map<String, List<String>> unknownRequirements;
+    private final List<String> duplicateIds = new ArrayList<>();
+
+    private MissionDependencyGraph(List<Mission> catalog) {
+        this.missions = new ArrayList<>(catalog);
+        int size = missions.size();
+        for (int i = 0; i < size; i++) {
+            if (indexById.putIfAbsent(missions.get(i).getId(), i) != null) {
+                duplicateIds.add(missions.get(i).getId());
+            }
+        }
+
+        // Aristas prerequisito -> dependiente (requisitos duplicados cuentan una vez)
+        List<List<Integer>> edges = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) edges.add(new ArrayList<>());
+        this.remaining = new int[size];
+        this.unknownRequirements = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            Mission mission = missions.get(i);
+            for (String requirement : new LinkedHashSet<>(mission.getRequirements())) {
+                Integer prerequisite = indexById.get(requirement);
+                if (prerequisite == null) {
+                    // Nunca se podrá completar: el contador nunca llega a 0
+                    unknownRequirements.computeIfAbsent(mission.getId(), k -> new ArrayList<>()).add(requirement);
+                } else {
+                    edges.get(prerequisite).add(i);
+                }
+                remaining[i]++;
+            }
+        }
+
+        this.dependents = new int[size][];
+        for (int i = 0; i < size; i++) {
+            List<Integer> out = edges.get(i);
+            dependents[i] = out.isEmpty() ? NO_DEPENDENTS : out.stream().mapToInt(Integer::intValue).toArray();
+        }
+        this.completed = new boolean[size];
+
+        // Kahn: solo cuentan los prerequisitos conocidos
+        int[] inDegree = new int[size];
+        for (int[] out : dependents) {
+            for (int dependent : out) inDegree[dependent]++;
+        }
+        ArrayDeque<Integer> ready = new ArrayDeque<>();
+        for (int i = 0; i < size; i++) {
+            if (inDegree[i] == 0) ready.add(i);
+        }
+        List<String> order = new ArrayList<>(size);
+        while (!ready.isEmpty()) {
+            int current = ready.poll();
+            order.add(missions.get(current).getId());
+            for (int dependent : dependents[current]) {
+                if (--inDegree[dependent] == 0) ready.add(dependent);
+            }
+        }
+        List<String> cycles = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            if (inDegree[i] > 0) cycles.add(missions.get(i).getId());
+        }
+        this.topologicalOrder = Collections.unmodifiableList(order);
+        this.cycleMissionIds = Collections.unmodifiableList(cycles);
+    }
+
+    public static MissionDependencyGraph build(List<Mission> catalog) {
+        return new MissionDependencyGraph(catalog);
+    }
+
+    // ==================== PROGRESO ====================
+
+    /**
+     * Marca la misión como completada y devuelve las misiones que quedaron con
+     * todos sus prerequisitos cumplidos. Idempotente.
+     */
+    public List<Mission> complete(String missionId) {
+        Integer index = indexById.get(missionId);
+        if (index == null || completed[index]) return Collections.emptyList();
+
+        completed[index] = true;
+        List<Mission> unlocked = new ArrayList<>();
+        for (int dependent : dependents[index]) {
+            if (--remaining[dependent] == 0) unlocked.add(missions.get(dependent));
+        }
+        return unlocked;
+    }
+
+    /**
+     * Misiones cuyo último prerequisito pendiente es la misión dada, es decir, las que
+     * completar (o haber completado) esa misión desbloquea. O(grado de salida).
+     */
+    public List<Mission> getUnlockedBy(String missionId) {
+        Integer index = indexById.get(missionId);
+        if (index == null) return Collections.emptyList();
+
+        int pendingFromThis = completed[index] ? 0 : 1;
+        List<Mission> unlocked = new ArrayList<>();
+        for (int dependent : dependents[index]) {
+            if (remaining[dependent] == pendingFromThis) unlocked.add(missions.get(dependent));
+        }
+        return unlocked;
+    }
+
+    public boolean contains(String missionId) {
+        return indexById.containsKey(missionId);
+    }
+
+    /**
+     * true si todos los requirements de la misión están completados. O(1).
+     */
+    public boolean arePrerequisitesMet(String missionId) {
+        Integer index = indexById.get(missionId);
+        return index != null && remaining[index] == 0;
+    }
+
+    // ==================== DIAGNÓSTICO ====================
+
+    public List<String> getTopologicalOrder() {
+        return topologicalOrder;
+    }
+
+    /**
+     * Misiones en un ciclo de requirements (o que dependen de uno): nunca serán alcanzables.
+     */
+    public List<String> getCycleMissionIds() {
+        return cycleMissionIds;
+    }
+
+    public Map<String, List<String>> getUnknownRequirements() {
+        return Collections.unmodifiableMap(unknownRequirements);
+    }
+
+    public List<String> getDuplicateIds() {
+        return Collections.unmodifiableList(duplicateIds);
+    }
+
+    public boolean hasProblems() {
+        return !cycleMissionIds.isEmpty() || !unknownRequirements.isEmpty() || !duplicateIds.isEmpty();
+    }
+
+    /**
+     * Un mensaje por problema del catálogo (ciclos, requisitos desconocidos, ids repetidos).
+     */
+    public List<String> getDiagnostics() {
+        List<String> diagnostics = new ArrayList<>();
+        if (!cycleMissionIds.isEmpty()) {
+            diagnostics.add("Mission requirement cycle detected, unreachable missions: " + cycleMissionIds);
+        }
+        for (Map.Entry<String, List<String>> entry : unknownRequirements.entrySet()) {
+            diagnostics.add("Mission " + entry.getKey() + " requires unknown missions: " + entry.getValue());
+        }
+        for (String id : duplicateIds) {
+            diagnostics.add("Duplicate mission id: " + id);
+        }
+        return diagnostics;
+    }
+
+    /**
+     * Imprime los diagnósticos por System.err (una vez por catálogo cargado).
+     */
+    public void report() {
+        for (String diagnostic : getDiagnostics()) {
+            System.err.println(diagnostic);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.neonthread;
 
+import com.neonthread.flags.FlagMask;
+import com.neonthread.flags.FlagSet;
 import com.neonthread.inventory.InventoryItem;
 import com.neonthread.inventory.ItemRegistry;
 import com.neonthread.stats.StatEffectApplier;
@@ -22,6 +24,8 @@ public class NarrativeScene {
     private List<SceneOption> opciones;
     private Map<String, Boolean> flagsActivos;
     private Map<String, Boolean> flagsRequeridos;
+    private final FlagMask mascaraRequerida = new FlagMask();
+    private volatile CompiledScene compilada; // Se compila al cargar; la escena no cambia después
     private String musicaOpcional;
     private boolean esCierre; // Si es true, ir a ResultScreen
     
@@ -52,19 +56,29 @@ public class NarrativeScene {
     public void setEsCierre(boolean esCierre) { this.esCierre = esCierre; }
     public void addOpcion(SceneOption opcion) { this.opciones.add(opcion); }
     public void setFlag(String key, boolean value) { this.flagsActivos.put(key, value); }
-    public void addFlagRequerido(String key, boolean value) { this.flagsRequeridos.put(key, value); }
+    public void addFlagRequerido(String key, boolean value) {
+        this.flagsRequeridos.put(key, value);
+        if (value) mascaraRequerida.require(key); else mascaraRequerida.requireFalse(key);
+    }
     
     /**
-     * Verifica si los flags requeridos coinciden con el estado actual.
+     * Forma compilada de la escena para evaluar opciones sin recorrer mapas/listas.
+     * Se genera una vez (los loaders la piden al cargar) y se cachea.
      */
-    public boolean cumpleFlagsRequeridos(Map<String, Boolean> worldFlags) {
-        for (Map.Entry<String, Boolean> entry : flagsRequeridos.entrySet()) {
-            Boolean worldValue = worldFlags.get(entry.getKey());
-            if (worldValue == null || !worldValue.equals(entry.getValue())) {
-                return false;
-            }
+    public CompiledScene getCompilada() {
+        CompiledScene result = compilada;
+        if (result == null) {
+            result = CompiledScene.compile(this);
+            compilada = result;
         }
-        return true;
+        return result;
+    }
+    
+    /**
+     * Verifica si los flags requeridos coinciden con el estado actual.
+     */
+    public boolean cumpleFlagsRequeridos(FlagSet worldFlags) {
+        return mascaraRequerida.matches(worldFlags);
     }
     
     /**
@@ -77,6 +91,7 @@ public class NarrativeScene {
         private String siguienteEscena;
         private String escenaFallo; // Si falla un check
         private Map<String, Boolean> flagsRequeridos; // Para mostrar/ocultar opción
+        private final FlagMask mascaraVisibilidad = new FlagMask(); // flagsRequeridos precompilados
         
         public SceneOption(String texto, String siguienteEscena) {
             this.texto = texto;
@@ -98,19 +113,17 @@ public class NarrativeScene {
         public void setEscenaFallo(String escenaFallo) { this.escenaFallo = escenaFallo; }
         public void addCheck(AttributeCheck check) { this.checks.add(check); }
         public void addConsecuencia(Consequence consecuencia) { this.consecuencias.add(consecuencia); }
-        public void addFlagRequerido(String key, boolean value) { this.flagsRequeridos.put(key, value); }
+        public void addFlagRequerido(String key, boolean value) {
+            this.flagsRequeridos.put(key, value);
+            if (value) mascaraVisibilidad.require(key); else mascaraVisibilidad.requireFalse(key);
+        }
         
         /**
          * Verifica si la opción debe ser visible según flags.
+         * Cada flag requerido debe estar asignado con el valor exacto (un flag nunca definido no cumple).
          */
-        public boolean esVisible(Map<String, Boolean> worldFlags) {
-            for (Map.Entry<String, Boolean> entry : flagsRequeridos.entrySet()) {
-                Boolean worldValue = worldFlags.get(entry.getKey());
-                if (worldValue == null || !worldValue.equals(entry.getValue())) {
-                    return false;
-                }
-            }
-            return true;
+        public boolean esVisible(FlagSet worldFlags) {
+            return mascaraVisibilidad.matches(worldFlags);
         }
         
         /**
@@ -128,7 +141,7 @@ public class NarrativeScene {
         /**
          * Aplica todas las consecuencias.
          */
-        public void aplicarConsecuencias(Character character, Map<String, Boolean> worldFlags, GameLog log) {
+        public void aplicarConsecuencias(Character character, FlagSet worldFlags, GameLog log) {
             for (Consequence c : consecuencias) {
                 c.aplicar(character, worldFlags, log);
             }
@@ -157,6 +170,13 @@ public class NarrativeScene {
          * Evalúa el check contra el personaje.
          */
         public boolean evaluar(Character character) {
+            return evaluar(tipo, valorMinimo, character);
+        }
+        
+        /**
+         * Evaluación compartida con {@link CompiledScene} (DRY).
+         */
+        static boolean evaluar(StatType tipo, int valorMinimo, Character character) {
             switch (tipo) {
                 case INTELLIGENCE:
                 case PHYSICAL:
@@ -208,41 +228,49 @@ public class NarrativeScene {
         /**
          * Aplica la consecuencia.
          */
-        public void aplicar(Character character, Map<String, Boolean> worldFlags, GameLog log) {
+        public void aplicar(Character character, FlagSet worldFlags, GameLog log) {
+            aplicar(tipo, key, valor, character, worldFlags, log);
+        }
+        
+        /**
+         * Aplicación compartida con {@link CompiledScene} (DRY).
+         */
+        static void aplicar(ConsequenceType tipo, String key, int valor,
+                            Character character, FlagSet worldFlags, GameLog log) {
             switch (tipo) {
                 case CHANGE_BATTERY:
                     if (valor < 0) StatEffectApplier.consumeBattery(character, -valor);
                     else character.setBattery(character.getBattery() + valor);
-                    if (log != null) log.add("Batería: " + (valor > 0 ? "+" : "") + valor);
+                    if (log != null) log.add(LogEvent.Type.STAT_CHANGED, StatType.BATTERY, valor);
                     break;
                 case CHANGE_CREDITS:
                     character.setCredits(character.getCredits() + valor);
-                    if (log != null) log.add("Créditos: " + (valor > 0 ? "+" : "") + valor);
+                    if (log != null) log.add(LogEvent.Type.STAT_CHANGED, StatType.CREDITS, valor);
                     break;
                 case CHANGE_REPUTATION:
                     StatEffectApplier.addReputation(character, valor);
-                    if (log != null) log.add("Reputación: " + (valor > 0 ? "+" : "") + valor);
+                    if (log != null) log.add(LogEvent.Type.STAT_CHANGED, StatType.REPUTATION, valor);
                     break;
                 case CHANGE_NOTORIETY:
                     StatEffectApplier.addNotoriety(character, valor);
-                    if (log != null) log.add("Notoriedad: " + (valor > 0 ? "+" : "") + valor);
+                    if (log != null) log.add(LogEvent.Type.STAT_CHANGED, StatType.NOTORIETY, valor);
                     break;
                 case CHANGE_KARMA:
                     StatEffectApplier.addKarma(character, valor);
-                    if (log != null) log.add("Karma: " + (valor > 0 ? "+" : "") + valor);
+                    if (log != null) log.add(LogEvent.Type.STAT_CHANGED, StatType.KARMA, valor);
                     break;
                 case CHANGE_ENERGY:
                     if (valor < 0) StatEffectApplier.consumeEnergy(character, -valor);
                     else character.setEnergy(character.getEnergy() + valor);
-                    if (log != null) log.add("Energía: " + (valor > 0 ? "+" : "") + valor);
+                    if (log != null) log.add(LogEvent.Type.STAT_CHANGED, StatType.ENERGY, valor);
                     break;
                 case CHANGE_HEALTH:
                     if (valor < 0) StatEffectApplier.applyDamage(character, -valor);
                     else StatEffectApplier.applyHealing(character, valor);
-                    if (log != null) log.add("Salud: " + (valor > 0 ? "+" : "") + valor);
+                    if (log != null) log.add(LogEvent.Type.STAT_CHANGED, StatType.HEALTH, valor);
                     break;
                 case SET_FLAG:
-                    worldFlags.put(key, valor > 0);
+                    worldFlags.set(key, valor > 0);
                     break;
                 case ADD_LOG:
                     if (log != null) log.add(key);
@@ -251,16 +279,16 @@ public class NarrativeScene {
                     InventoryItem itemToAdd = ItemRegistry.getItem(key);
                     if (itemToAdd != null) {
                         character.getInventory().addItem(itemToAdd);
-                        if (log != null) log.add("Item adquirido: " + itemToAdd.getName());
+                        if (log != null) log.add(LogEvent.Type.ITEM_ACQUIRED, itemToAdd.getName());
                     } else {
-                        if (log != null) log.add("Error: Item desconocido " + key);
+                        if (log != null) log.add(LogEvent.Type.ITEM_UNKNOWN, key);
                     }
                     break;
                 case REMOVE_ITEM:
                     // Need to find item in inventory by ID
                     // For now, simplified removal if we had a way to look up in inventory by ID
                     // character.getInventory().removeItemById(key);
-                    if (log != null) log.add("Item usado: " + key);
+                    if (log != null) log.add(LogEvent.Type.ITEM_USED, key);
                     break;
             }
         }
@@ -1,10 +1,15 @@
 package com.neonthread;
 
+import com.neonthread.loaders.ContentPreloader;
+import com.neonthread.loaders.SceneLoader;
+import com.neonthread.loaders.ScenePrefetcher;
 import com.neonthread.screens.*;
 
 import com.neonthread.stats.StatType;
+import com.neonthread.ui.FrameScheduler;
 
 import javax.swing.*;
+import java.awt.Component;
 
 /**
  * Clase principal del juego NEONTHREAD (KISS + DRY).
@@ -136,64 +141,70 @@ public class NeonThreadGame extends JFrame {
         }
         
         currentState = newState;
+        // Congelar las animaciones de la pantalla saliente (se reanudan si vuelve)
+        for (Component screen : getContentPane().getComponents()) {
+            FrameScheduler.getInstance().pause(screen);
+        }
         getContentPane().removeAll();
         
         // Activar nuevo estado
         switch (currentState) {
             case STATE_BOOTSTRAP:
-                getContentPane().add(bootstrapScreen);
+                showScreen(bootstrapScreen);
                 bootstrapScreen.startSequence();
                 break;
                 
             case STATE_BOOT:
-                getContentPane().add(bootScreen);
+                showScreen(bootScreen);
                 bootScreen.startBootSequence();
                 break;
                 
             case STATE_LOGO_GLITCH:
-                getContentPane().add(logoScreen);
+                showScreen(logoScreen);
                 logoScreen.show();
                 break;
                 
             case STATE_MENU:
-                getContentPane().add(menuScreen);
+                showScreen(menuScreen);
                 menuScreen.show();
                 break;
                 
             case STATE_SETTINGS:
-                getContentPane().add(settingsScreen);
+                showScreen(settingsScreen);
                 settingsScreen.setVisible(true);
                 break;
                 
             case STATE_LOADING_RUN:
-                getContentPane().add(loadingRunScreen);
+                showScreen(loadingRunScreen);
                 loadingRunScreen.startLoading();
                 break;
                 
             case STATE_CHARACTER_CREATION:
-                getContentPane().add(characterCreationScreen);
+                showScreen(characterCreationScreen);
                 characterCreationScreen.reset();
                 break;
                 
             case STATE_INTRO_NARRATIVE:
-                getContentPane().add(introNarrativeScreen);
+                showScreen(introNarrativeScreen);
                 introNarrativeScreen.startNarrative();
                 break;
                 
             case STATE_DISTRICT_MAP:
-                getContentPane().add(districtMapScreen);
+                showScreen(districtMapScreen);
                 districtMapScreen.refresh();
                 break;
                 
             case STATE_MISSION_WINDOW:
-                getContentPane().add(missionWindowScreen);
+                showScreen(missionWindowScreen);
                 missionWindowScreen.show();
+                // La escena inicial se precarga mientras el jugador revisa la misión
+                ScenePrefetcher.prefetch(SceneLoader.INITIAL_SCENE_ID);
                 break;
                 
             case STATE_NARRATIVE_SCENE:
-                getContentPane().add(narrativeSceneScreen);
+                showScreen(narrativeSceneScreen);
                 // Cargar escena inicial desde JSON
-                NarrativeScene initialScene = com.neonthread.loaders.SceneLoader.getScene("scene_01");
+                NarrativeScene initialScene = SceneLoader.getScene(SceneLoader.INITIAL_SCENE_ID);
                 if (initialScene == null) {
                     initialScene = createInitialScene();
                 }
@@ -201,12 +212,12 @@ public class NeonThreadGame extends JFrame {
                 break;
                 
             case STATE_RESULT_SCREEN:
-                getContentPane().add(resultScreen);
+                showScreen(resultScreen);
                 resultScreen.showResults(narrativeSceneScreen.getHistory());
                 break;
                 
             case STATE_INVENTORY:
-                getContentPane().add(inventoryScreen);
+                showScreen(inventoryScreen);
                 inventoryScreen.setBackAction(() -> changeState(previousState != null ? previousState : GameState.STATE_MENU));
                 inventoryScreen.refresh();
                 break;
@@ -222,7 +233,7 @@ public class NeonThreadGame extends JFrame {
                     },
                     previousState
                 );
-                getContentPane().add(pauseScreen);
+                showScreen(pauseScreen);
                 break;
         }
         
@@ -230,6 +241,16 @@ public class NeonThreadGame extends JFrame {
         repaint();
     }
     
+    /**
+     * Agrega la pantalla y reanuda sus tareas pausadas antes de que el caso llame a su
+     * start*: así un start* que reemplaza sus animaciones cancela las viejas ya activas,
+     * en lugar de que se reanuden después, en paralelo con las nuevas.
+     */
+    private void showScreen(Component screen) {
+        getContentPane().add(screen);
+        FrameScheduler.getInstance().resume(screen);
+    }
+    
     /**
      * Inicia una nueva partida (KISS).
      */
@@ -322,6 +343,9 @@ public class NeonThreadGame extends JFrame {
     }
     
     public static void main(String[] args) {
+        // Carga de contenido en paralelo: corre mientras se crea la ventana y el bootstrap
+        ContentPreloader.start();
+        
         // Configurar Look and Feel
         try {
             UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
@@ -1,60 +1,141 @@
 package com.neonthread;
 
-import javax.swing.Timer;
+import com.neonthread.ui.FrameScheduler;
+
+import java.awt.Component;
 import java.util.function.Consumer;
 
 /**
  * Efecto typewriter reutilizable siguiendo DRY.
  * Ahora respeta la configuración de velocidad de texto.
+ *
+ * La cantidad de caracteres visibles sale del tiempo transcurrido (un carácter cada
+ * delayMs), no de contar ticks: si se pierden frames, el siguiente revela varios de una.
+ * Hay dos modos:
+ * - Prefijo (constructores): onUpdate recibe todo el texto visible. Simple, pero cada
+ *   frame copia el prefijo y el componente vuelve a maquetar todo.
+ * - Incremental ({@link #appending}): onAppend recibe solo los caracteres nuevos del
+ *   frame, para hacer append sobre el componente. Revelar n caracteres cuesta O(n).
  */
 public class TypewriterEffect {
+    private final Component owner;
     private final String fullText;
     private int delayMs;
     private final Consumer<String> onUpdate;
+    private final boolean incremental;
     private final Runnable onComplete;
     
     private int currentIndex = 0;
-    private Timer timer;
+    private FrameScheduler.Handle timer;
+    
+    public TypewriterEffect(Component owner, String text, Consumer<String> onUpdate, Runnable onComplete) {
+        this(owner, text, getDelayFromSettings(), onUpdate, onComplete);
+    }
     
-    public TypewriterEffect(String text, Consumer<String> onUpdate, Runnable onComplete) {
-        this(text, getDelayFromSettings(), onUpdate, onComplete);
+    /**
+     * @param owner componente dueño: el efecto se pausa si su pantalla deja de mostrarse
+     */
+    public TypewriterEffect(Component owner, String text, int delayMs, Consumer<String> onUpdate, Runnable onComplete) {
+        this(owner, text, delayMs, onUpdate, false, onComplete);
     }
     
-    public TypewriterEffect(String text, int delayMs, Consumer<String> onUpdate, Runnable onComplete) {
+    private TypewriterEffect(Component owner, String text, int delayMs, Consumer<String> onUpdate,
+                             boolean incremental, Runnable onComplete) {
+        this.owner = owner;
         this.fullText = text;
         this.delayMs = delayMs;
         this.onUpdate = onUpdate;
+        this.incremental = incremental;
         this.onComplete = onComplete;
     }
     
+    /**
+     * Modo incremental: {@code onAppend} recibe solo el tramo nuevo de cada frame.
+     */
+    public static TypewriterEffect appending(Component owner, String text, int delayMs,
+                                             Consumer<String> onAppend, Runnable onComplete) {
+        return new TypewriterEffect(owner, text, delayMs, onAppend, true, onComplete);
+    }
+    
+    public static TypewriterEffect appending(Component owner, String text,
+                                             Consumer<String> onAppend, Runnable onComplete) {
+        return appending(owner, text, getDelayFromSettings(), onAppend, onComplete);
+    }
+    
     private static int getDelayFromSettings() {
         // Velocidad fija normal (settings simplificado)
         return 25;
     }
     
     public void start() {
+        stop();
         currentIndex = 0;
-        timer = new Timer(delayMs, e -> {
-            if (currentIndex < fullText.length()) {
-                currentIndex++;
-                onUpdate.accept(fullText.substring(0, currentIndex));
-            } else {
-                stop();
-                if (onComplete != null) {
-                    onComplete.run();
-                }
+        timer = FrameScheduler.getInstance().animate(owner, elapsed -> {
+            if (fullText.isEmpty()) {
+                finish();
+                return false;
             }
+            long due = delayMs <= 0 ? fullText.length() : elapsed / delayMs;
+            reveal((int) Math.min(fullText.length(), due));
+            return !isComplete();
         });
-        timer.start();
+    }
+    
+    /**
+     * Muestra de una el resto del texto: una sola actualización, sin importar cuánto falte.
+     */
+    public void skip() {
+        if (timer == null || !timer.isActive()) return; // No arrancó o ya terminó
+        stop();
+        if (fullText.isEmpty()) {
+            finish();
+        } else {
+            reveal(fullText.length());
+        }
+    }
+    
+    /**
+     * Avanza hasta {@code target} en una sola llamada a onUpdate.
+     */
+    private void reveal(int target) {
+        // No cortar un par surrogate (emoji, etc.) entre dos tramos
+        if (target > currentIndex && target < fullText.length()
+                && java.lang.Character.isHighSurrogate(fullText.charAt(target - 1))) {
+            target++;
+        }
+        if (target <= currentIndex) return;
+        
+        int from = currentIndex;
+        currentIndex = target;
+        if (incremental) {
+            onUpdate.accept(from == 0 && target == fullText.length() ? fullText : fullText.substring(from, target));
+        } else {
+            onUpdate.accept(target == fullText.length() ? fullText : fullText.substring(0, target));
+        }
+        
+        if (isComplete()) {
+            finish();
+        }
+    }
+    
+    private void finish() {
+        stop();
+        if (onComplete != null) {
+            onComplete.run();
+        }
     }
     
     public void stop() {
         if (timer != null) {
-            timer.stop();
+            timer.cancel();
         }
     }
     
     public boolean isComplete() {
         return currentIndex >= fullText.length();
     }
+    
+    public int getVisibleLength() {
+        return currentIndex;
+    }
 }
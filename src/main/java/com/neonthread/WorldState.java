@@ -1,21 +1,25 @@
 package com.neonthread;
 
-import java.util.HashMap;
+import com.neonthread.flags.FlagRegistry;
+import com.neonthread.flags.FlagSet;
+
+import java.util.ArrayList;
 import java.util.HashSet;
-import java.util.Map;
+import java.util.List;
 import java.util.Set;
 
 /**
  * Estado global del mundo del juego (Singleton).
  * Maneja flags narrativos, reputación, items narrativos y estado del distrito.
+ * El juego usa la instancia global; las simulaciones (GameEngine) crean la suya.
  * 
  * Implementación KISS: todo centralizado, fácil de consultar y modificar.
  */
 public class WorldState {
     private static WorldState instance;
     
-    // Sistema de flags narrativos
-    private Map<String, Boolean> narrativeFlags;
+    // Sistema de flags narrativos (bits indexados por FlagRegistry)
+    private final FlagSet narrativeFlags = new FlagSet();
     
     // Sistema de reputación (puede expandirse a múltiples facciones)
     @Deprecated
@@ -28,8 +32,9 @@ public class WorldState {
     private String districtState;
     private final Set<DistrictChange> activeChanges = new HashSet<>();
     
-    private WorldState() {
-        this.narrativeFlags = new HashMap<>();
+    private final List<WorldStateListener> listeners = new ArrayList<>();
+    
+    public WorldState() {
         this.globalReputation = 0;
         this.narrativeItems = new HashSet<>();
         this.districtState = "normal";
@@ -51,6 +56,21 @@ public class WorldState {
         narrativeItems.clear();
         districtState = "normal";
         activeChanges.clear();
+        notifyListeners(WorldStateListener.Change.RESET, null);
+    }
+    
+    public void addListener(WorldStateListener listener) {
+        listeners.add(listener);
+    }
+    
+    public void removeListener(WorldStateListener listener) {
+        listeners.remove(listener);
+    }
+    
+    private void notifyListeners(WorldStateListener.Change change, String key) {
+        for (WorldStateListener listener : listeners) {
+            listener.onWorldStateChanged(change, key);
+        }
     }
     
     // ==================== FLAGS NARRATIVOS ====================
@@ -59,34 +79,40 @@ public class WorldState {
      * Establece un flag narrativo.
      */
     public void setFlag(String flagName, boolean value) {
-        narrativeFlags.put(flagName, value);
+        int id = FlagRegistry.intern(flagName);
+        boolean previous = narrativeFlags.isSet(id);
+        narrativeFlags.set(id, value);
+        if (previous != value) {
+            notifyListeners(WorldStateListener.Change.FLAG, flagName);
+        }
     }
     
     /**
      * Verifica si un flag está activo.
      */
     public boolean hasFlag(String flagName) {
-        return narrativeFlags.getOrDefault(flagName, false);
+        return narrativeFlags.isSet(flagName);
+    }
+    
+    /**
+     * Flags como bitset, para evaluar máscaras precompiladas (FlagMask).
+     */
+    public FlagSet getFlags() {
+        return narrativeFlags;
     }
     
     /**
      * Obtiene todos los flags activos.
      */
     public Set<String> getActiveFlags() {
-        Set<String> active = new HashSet<>();
-        for (Map.Entry<String, Boolean> entry : narrativeFlags.entrySet()) {
-            if (entry.getValue()) {
-                active.add(entry.getKey());
-            }
-        }
-        return active;
+        return new HashSet<>(narrativeFlags.getActiveNames());
     }
     
     /**
      * Limpia un flag específico.
      */
     public void clearFlag(String flagName) {
-        narrativeFlags.put(flagName, false);
+        setFlag(flagName, false);
     }
     
     // ==================== REPUTACIÓN ====================
@@ -170,11 +196,15 @@ public class WorldState {
      * Ejemplos: "normal", "lockdown", "mercado_negro_abierto", "guerra_bandas"
      */
     public void setDistrictState(String state) {
+        if (state == null ? districtState == null : state.equals(districtState)) return;
         this.districtState = state;
+        notifyListeners(WorldStateListener.Change.DISTRICT_STATE, state);
     }
 
     public void applyChange(DistrictChange change) {
-        activeChanges.add(change);
+        if (activeChanges.add(change)) {
+            notifyListeners(WorldStateListener.Change.DISTRICT_CHANGE, change.name());
+        }
     }
 
     public boolean hasChange(DistrictChange change) {
@@ -0,0 +1,13 @@
+package com.neonthread;
+
+/**
+ * Observador de cambios en {@link WorldState}.
+ */
+public interface WorldStateListener {
+    enum Change { FLAG, DISTRICT_STATE, DISTRICT_CHANGE, RESET }
+
+    /**
+     * @param key nombre del flag, estado o cambio de distrito afectado (null en RESET)
+     */
+    void onWorldStateChanged(Change change, String key);
+}
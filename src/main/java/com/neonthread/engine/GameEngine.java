@@ -0,0 +1,283 @@
+package com.neonthread.engine;
+
+import com.neonthread.Character;
+import com.neonthread.CompiledScene;
+import com.neonthread.District;
+import com.neonthread.GameLog;
+import com.neonthread.LogEvent;
+import com.neonthread.Mission;
+import com.neonthread.MissionAvailabilityIndex;
+import com.neonthread.MissionDependencyGraph;
+import com.neonthread.MissionHistory;
+import com.neonthread.NarrativeScene;
+import com.neonthread.NarrativeScene.SceneOption;
+import com.neonthread.WorldState;
+import com.neonthread.flags.FlagSet;
+import com.neonthread.loaders.SceneLoader;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Motor de juego sin UI (KISS).
+ *
+ * Reproduce la lógica que hoy vive en las pantallas (aceptar misión en
+ * MissionWindowPresenter, elegir opciones en NarrativeSceneScreen, recompensas en
+ * ResultScreen) sobre instancias propias de Character, WorldState y GameLog, sin
+ * tocar GameSession ni WorldState.getInstance(). Cada instancia es una partida
+ * independiente: sirve para simular miles de partidas en paralelo (una por hilo).
+ *
+ * Las misiones son mutables (status), así que cada motor necesita su propio catálogo,
+ * por ejemplo {@code MissionLoader.loadMissions()}. Las escenas, en cambio, son de solo
+ * lectura: por defecto todos los motores comparten un mismo mapa inmutable, sin locks.
+ */
+public class GameEngine {
+    private final Character character;
+    private final WorldState worldState;
+    private final GameLog gameLog;
+    private final District district;
+    private final Function<String, NarrativeScene> sceneSource;
+
+    private final Set<String> completedMissions = new HashSet<>();
+    private final MissionDependencyGraph dependencyGraph;
+    private final MissionAvailabilityIndex availabilityIndex = new MissionAvailabilityIndex();
+
+    // Estado de la misión en curso (como NarrativeSceneScreen)
+    private final FlagSet sceneFlags = new FlagSet();
+    private Mission currentMission;
+    private NarrativeScene currentScene;
+    private MissionHistory history;
+
+    /**
+     * Escenas compartidas por los motores creados sin fuente propia: se cargan una vez,
+     * al crear el primero, y después se leen sin locks ni caché que desalojar.
+     */
+    private static final class SharedScenes {
+        static final Map<String, NarrativeScene> SCENES = SceneLoader.loadSceneMap();
+    }
+
+    public GameEngine(Character character, List<Mission> catalog) {
+        this(character, catalog, new WorldState(), new GameLog(), SharedScenes.SCENES::get);
+    }
+
+    public GameEngine(Character character, List<Mission> catalog, WorldState worldState,
+                      GameLog gameLog, Function<String, NarrativeScene> sceneSource) {
+        this.character = character;
+        this.worldState = worldState;
+        this.gameLog = gameLog;
+        this.sceneSource = sceneSource;
+        this.district = new District("Distrito Theta-5");
+        for (Mission mission : catalog) {
+            district.addMission(mission);
+        }
+        // Sin reportar: los diagnósticos del catálogo los imprime quien lo carga, no cada partida
+        this.dependencyGraph = MissionDependencyGraph.build(district.getMissions());
+        worldState.addListener(availabilityIndex);
+        availabilityIndex.rebuild(district.getMissions(), worldState, character, this::arePrerequisitesMet);
+    }
+
+    // ==================== MISIONES ====================
+
+    /**
+     * Misiones que cumplen requisitos y condiciones de spawn, en orden de catálogo.
+     */
+    public List<Mission> getAvailableMissions() {
+        return availabilityIndex.getAvailableMissions();
+    }
+
+    public boolean canAcceptMission(Mission mission) {
+        return mission != null && availabilityIndex.isAvailable(mission);
+    }
+
+    /**
+     * Acepta la misión y carga su primera escena. Devuelve false si no está disponible
+     * o si ya hay una misión en curso.
+     */
+    public boolean acceptMission(Mission mission) {
+        if (currentMission != null || !canAcceptMission(mission)) {
+            return false;
+        }
+
+        mission.accept();
+        gameLog.setMission(mission.getId());
+        gameLog.add(LogEvent.Type.MISSION_ACCEPTED, mission.getTitle());
+        for (String unlockId : mission.getUnlocks()) {
+            district.unlockLocationById(unlockId);
+        }
+
+        currentMission = mission;
+        history = new MissionHistory(mission.getId());
+        sceneFlags.clear();
+
+        enterScene(getEntrySceneId(mission));
+        return true;
+    }
+
+    /**
+     * Escena con la que arranca una misión. Igual que NeonThreadGame al pasar a
+     * STATE_NARRATIVE_SCENE: siempre la escena inicial (la UI todavía no usa nextScene),
+     * para que las partidas simuladas sigan el mismo camino que las reales.
+     */
+    public static String getEntrySceneId(Mission mission) {
+        return SceneLoader.INITIAL_SCENE_ID;
+    }
+
+    // ==================== ESCENAS ====================
+
+    /**
+     * Opciones visibles de la escena actual según los flags de la misión.
+     */
+    public List<SceneOption> getVisibleOptions() {
+        if (currentScene == null) return Collections.emptyList();
+
+        CompiledScene scene = currentScene.getCompilada();
+        List<SceneOption> visible = new ArrayList<>();
+        for (int option = 0; option < scene.getOptionCount(); option++) {
+            if (scene.isVisible(option, sceneFlags)) {
+                visible.add(currentScene.getOpciones().get(option));
+            }
+        }
+        return visible;
+    }
+
+    /**
+     * Sin asignar memoria: escribe en {@code out} los índices de las opciones visibles
+     * de la escena actual y devuelve cuántas son.
+     */
+    public int collectVisibleOptions(int[] out) {
+        return currentScene == null ? 0 : currentScene.getCompilada().collectVisible(sceneFlags, out);
+    }
+
+    public boolean selectOption(SceneOption option) {
+        if (currentScene == null) {
+            throw new IllegalStateException("No hay escena activa");
+        }
+        int optionIndex = currentScene.getOpciones().indexOf(option);
+        if (optionIndex < 0) {
+            throw new IllegalArgumentException("La opción no pertenece a la escena actual");
+        }
+        return selectOption(optionIndex);
+    }
+
+    /**
+     * Elige una opción por índice: evalúa sus checks, aplica consecuencias y avanza a
+     * la escena siguiente (o a la de fallo). Devuelve true si los checks pasaron.
+     */
+    public boolean selectOption(int optionIndex) {
+        if (currentScene == null) {
+            throw new IllegalStateException("No hay escena activa");
+        }
+        CompiledScene scene = currentScene.getCompilada();
+        history.incrementDecisions();
+
+        if (scene.evaluateChecks(optionIndex, character, gameLog)) {
+            if (scene.getCheckCount(optionIndex) > 0) {
+                history.recordCheckSuccess();
+            }
+            scene.applyConsequences(optionIndex, character, sceneFlags, gameLog);
+            if (scene.getNextScene(optionIndex) != null) {
+                enterScene(scene.getNextScene(optionIndex));
+            }
+            return true;
+        }
+
+        history.recordCheckFailed();
+        if (scene.getFailScene(optionIndex) != null) {
+            enterScene(scene.getFailScene(optionIndex));
+        } else {
+            gameLog.add(LogEvent.Type.ACTION_BLOCKED);
+        }
+        return false;
+    }
+
+    /**
+     * true si la escena actual es de cierre (la pantalla pasaría a resultados).
+     */
+    public boolean isAtClosingScene() {
+        return currentScene != null && currentScene.esCierre();
+    }
+
+    private void enterScene(String sceneId) {
+        NarrativeScene scene = sceneSource.apply(sceneId);
+        currentScene = scene;
+        if (scene == null) {
+            gameLog.add(LogEvent.Type.SCENE_MISSING, sceneId);
+            return;
+        }
+        scene.getCompilada().applySceneFlags(sceneFlags);
+    }
+
+    // ==================== RESULTADOS ====================
+
+    /**
+     * Cierra la misión en curso: consecuencias, recompensas y desbloqueos
+     * (equivalente a ResultScreen.applyRewards). Devuelve el historial de la misión.
+     */
+    public MissionHistory completeMission(Mission.MissionOutcome outcome) {
+        if (currentMission == null) {
+            throw new IllegalStateException("No hay misión en curso");
+        }
+        Mission mission = currentMission;
+        MissionHistory finished = history;
+        finished.finish(outcome);
+
+        mission.complete(outcome, character, worldState);
+        if (outcome == Mission.MissionOutcome.SUCCESS || outcome == Mission.MissionOutcome.PARTIAL) {
+            character.setCredits(character.getCredits() + mission.getRewardCredits());
+            character.setReputation(character.getReputation() + 1);
+            for (String unlockId : mission.getUnlocks()) {
+                district.unlockLocationById(unlockId);
+            }
+            registerMissionCompleted(mission);
+            gameLog.add(LogEvent.Type.MISSION_COMPLETED, mission.getTitle());
+        }
+
+        gameLog.setMission(null);
+        currentMission = null;
+        currentScene = null;
+        history = null;
+        return finished;
+    }
+
+    private void registerMissionCompleted(Mission mission) {
+        if (!completedMissions.add(mission.getId())) return;
+
+        dependencyGraph.complete(mission.getId());
+        availabilityIndex.onMissionCompleted(mission.getId());
+        for (Mission unlocked : dependencyGraph.getUnlockedBy(mission.getId())) {
+            if (unlocked.getStatus() == Mission.MissionStatus.LOCKED) {
+                unlocked.setStatus(Mission.MissionStatus.AVAILABLE);
+            }
+        }
+    }
+
+    /**
+     * Requisitos previos contra las misiones completadas en esta partida.
+     */
+    public boolean arePrerequisitesMet(Mission mission) {
+        if (dependencyGraph.contains(mission.getId())) {
+            return dependencyGraph.arePrerequisitesMet(mission.getId());
+        }
+        return completedMissions.containsAll(mission.getRequirements());
+    }
+
+    // ==================== GETTERS ====================
+
+    public Character getCharacter() { return character; }
+    public WorldState getWorldState() { return worldState; }
+    public GameLog getGameLog() { return gameLog; }
+    public District getDistrict() { return district; }
+    public Mission getCurrentMission() { return currentMission; }
+    public NarrativeScene getCurrentScene() { return currentScene; }
+    public MissionHistory getHistory() { return history; }
+    public FlagSet getSceneFlags() { return sceneFlags; }
+
+    public boolean hasCompleted(String missionId) {
+        return completedMissions.contains(missionId);
+    }
+}
@@ -0,0 +1,449 @@
+package com.neonthread.engine;
+
+import com.neonthread.Character;
+import com.neonthread.CompiledScene;
+import com.neonthread.Mission;
+import com.neonthread.NarrativeScene;
+import com.neonthread.flags.FlagSet;
+import com.neonthread.loaders.MissionLoader;
+import com.neonthread.loaders.SceneLoader;
+import com.neonthread.stats.StatType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.DoubleAdder;
+
+/**
+ * Explorador del grafo de escenas sobre fork-join (KISS).
+ *
+ * Para cada misión y cada combinación Role/Difficulty recorre todos los caminos desde
+ * la escena inicial de la misión, eligiendo cada opción visible con igual probabilidad.
+ * Cada punto de ramificación es una subtarea (work-stealing del ForkJoinPool), y el
+ * estado (Character + flags de escena) se comparte entre ramas hasta que una
+ * consecuencia lo modifica: recién ahí se copia (copy-on-write).
+ *
+ * Los caminos se cortan al volver a una escena del mismo camino (bucle), al superar
+ * la profundidad máxima o al bajar de la probabilidad mínima; esa masa se reporta
+ * aparte para que se vea cuánto quedó sin explorar.
+ *
+ * Se ejecuta desde la raíz del proyecto:
+ *
+ *   java -cp bin com.neonthread.engine.StoryExplorer
+ */
+public class StoryExplorer {
+    public static final int DEFAULT_MAX_DEPTH = 64;
+    public static final double DEFAULT_MIN_PROBABILITY = 1e-6;
+
+    private final List<Mission> missions;
+    private final Map<String, NarrativeScene> scenes;
+    private final int maxDepth;
+    private final double minProbability;
+    private final ForkJoinPool pool;
+
+    public StoryExplorer(List<Mission> missions, Map<String, NarrativeScene> scenes) {
+        this(missions, scenes, DEFAULT_MAX_DEPTH, DEFAULT_MIN_PROBABILITY, ForkJoinPool.commonPool());
+    }
+
+    public StoryExplorer(List<Mission> missions, Map<String, NarrativeScene> scenes,
+                         int maxDepth, double minProbability, ForkJoinPool pool) {
+        this.missions = new ArrayList<>(missions);
+        this.scenes = scenes;
+        this.maxDepth = maxDepth;
+        this.minProbability = minProbability;
+        this.pool = pool;
+    }
+
+    /**
+     * Explorador sobre el contenido del juego (missions.json / scenes.json o el pack).
+     */
+    public static StoryExplorer fromContent() {
+        return new StoryExplorer(MissionLoader.loadMissions(), SceneLoader.loadSceneMap());
+    }
+
+    // ==================== EXPLORACIÓN ====================
+
+    /**
+     * Explora todas las misiones con cada combinación de Role y Difficulty.
+     */
+    public StoryReport explore() {
+        long start = System.nanoTime();
+        List<ProfileAccumulator> profiles = new ArrayList<>();
+        List<ForkJoinTask<?>> roots = new ArrayList<>();
+        for (Character.Role role : Character.Role.values()) {
+            for (Character.Difficulty difficulty : Character.Difficulty.values()) {
+                ProfileAccumulator profile = new ProfileAccumulator(role, difficulty);
+                profiles.add(profile);
+                roots.addAll(submitMissions(profile));
+            }
+        }
+        for (ForkJoinTask<?> root : roots) {
+            root.join();
+        }
+
+        List<ProfileReport> reports = new ArrayList<>();
+        for (ProfileAccumulator profile : profiles) {
+            reports.add(profile.toReport());
+        }
+        return new StoryReport(reports, scenes.keySet(), (System.nanoTime() - start) / 1_000_000L);
+    }
+
+    /**
+     * Explora todas las misiones con un solo perfil de personaje.
+     */
+    public ProfileReport explore(Character.Role role, Character.Difficulty difficulty) {
+        ProfileAccumulator profile = new ProfileAccumulator(role, difficulty);
+        for (ForkJoinTask<?> root : submitMissions(profile)) {
+            root.join();
+        }
+        return profile.toReport();
+    }
+
+    private List<ForkJoinTask<?>> submitMissions(ProfileAccumulator profile) {
+        // Estado inicial compartido: ninguna rama lo modifica (copy-on-write)
+        State initial = new State(new Character("explorer", profile.role, profile.difficulty), new FlagSet());
+        List<ForkJoinTask<?>> roots = new ArrayList<>();
+        for (Mission mission : missions) {
+            String startScene = GameEngine.getEntrySceneId(mission);
+            Map<String, DoubleAdder> reach = profile.reachFor(mission.getId());
+            roots.add(pool.submit(new ExploreTask(profile, reach, startScene, initial, 1.0, null, 0)));
+        }
+        return roots;
+    }
+
+    /**
+     * Estado de una rama. Nunca se modifica una vez compartido.
+     */
+    private static final class State {
+        final Character character;
+        final FlagSet flags;
+
+        State(Character character, FlagSet flags) {
+            this.character = character;
+            this.flags = flags;
+        }
+    }
+
+    /**
+     * Escenas del camino actual (lista enlazada inmutable, compartida por las ramas).
+     */
+    private static final class Path {
+        final String sceneId;
+        final Path parent;
+
+        Path(String sceneId, Path parent) {
+            this.sceneId = sceneId;
+            this.parent = parent;
+        }
+
+        boolean contains(String id) {
+            for (Path node = this; node != null; node = node.parent) {
+                if (node.sceneId.equals(id)) return true;
+            }
+            return false;
+        }
+    }
+
+    private final class ExploreTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final ProfileAccumulator profile;
+        private final Map<String, DoubleAdder> reach;
+        private final String sceneId;
+        private final State state;
+        private final double probability;
+        private final Path path;
+        private final int depth;
+
+        ExploreTask(ProfileAccumulator profile, Map<String, DoubleAdder> reach, String sceneId,
+                    State state, double probability, Path path, int depth) {
+            this.profile = profile;
+            this.reach = reach;
+            this.sceneId = sceneId;
+            this.state = state;
+            this.probability = probability;
+            this.path = path;
+            this.depth = depth;
+        }
+
+        @Override
+        protected void compute() {
+            NarrativeScene source = scenes.get(sceneId);
+            if (source == null) {
+                profile.missingScenes.add(sceneId);
+                profile.add(profile.deadEnds, sceneId, probability);
+                return;
+            }
+            reach.computeIfAbsent(sceneId, k -> new DoubleAdder()).add(probability);
+
+            CompiledScene scene = source.getCompilada();
+            State current = state;
+            if (scene.hasSceneFlags()) {
+                FlagSet flags = current.flags.copy();
+                scene.applySceneFlags(flags);
+                current = new State(current.character, flags);
+            }
+
+            if (scene.isClosing()) {
+                profile.closed.add(probability);
+                return;
+            }
+            if (depth >= maxDepth || probability < minProbability) {
+                profile.truncated.add(probability);
+                return;
+            }
+
+            int[] visible = new int[scene.getOptionCount()];
+            int visibleCount = scene.collectVisible(current.flags, visible);
+
+            // Resolver cada opción; las que no llevan a ninguna escena no son una salida
+            int[] exits = new int[visibleCount];
+            boolean[] passed = new boolean[visibleCount];
+            int exitCount = 0;
+            double choiceProbability = visibleCount == 0 ? 0 : probability / visibleCount;
+            for (int i = 0; i < visibleCount; i++) {
+                int option = visible[i];
+                boolean passes = true;
+                for (int check = 0; check < scene.getCheckCount(option); check++) {
+                    boolean checkPasses = scene.passesCheck(option, check, current.character);
+                    profile.recordCheck(scene.getCheckStat(option, check), checkPasses, choiceProbability);
+                    passes &= checkPasses;
+                }
+                String target = passes ? scene.getNextScene(option) : scene.getFailScene(option);
+                if (target != null) {
+                    exits[exitCount] = option;
+                    passed[exitCount] = passes;
+                    exitCount++;
+                }
+            }
+            if (exitCount == 0) {
+                profile.add(profile.deadEnds, sceneId, probability);
+                return;
+            }
+
+            Path here = new Path(sceneId, path);
+            double branchProbability = probability / exitCount;
+            List<ExploreTask> children = new ArrayList<>(exitCount);
+            for (int i = 0; i < exitCount; i++) {
+                int option = exits[i];
+                String target = passed[i] ? scene.getNextScene(option) : scene.getFailScene(option);
+                if (here.contains(target)) {
+                    profile.looped.add(branchProbability);
+                    continue;
+                }
+                State next = passed[i] ? applyConsequences(scene, option, current) : current;
+                children.add(new ExploreTask(profile, reach, target, next, branchProbability, here, depth + 1));
+            }
+
+            if (children.size() == 1) {
+                children.get(0).compute();
+            } else if (!children.isEmpty()) {
+                invokeAll(children);
+            }
+        }
+    }
+
+    /**
+     * Copia solo la parte del estado que las consecuencias modifican.
+     */
+    private static State applyConsequences(CompiledScene scene, int option, State state) {
+        int effects = scene.getEffects(option);
+        if (effects == 0) return state;
+
+        Character character = (effects & CompiledScene.EFFECT_CHARACTER) != 0 ? state.character.copy() : state.character;
+        FlagSet flags = (effects & CompiledScene.EFFECT_FLAGS) != 0 ? state.flags.copy() : state.flags;
+        scene.applyConsequences(option, character, flags, null);
+        return new State(character, flags);
+    }
+
+    // ==================== RESULTADOS ====================
+
+    /**
+     * Acumuladores concurrentes de un perfil (Role + Difficulty).
+     */
+    private static final class ProfileAccumulator {
+        final Character.Role role;
+        final Character.Difficulty difficulty;
+        final Map<String, Map<String, DoubleAdder>> reachByMission = new LinkedHashMap<>();
+        final ConcurrentHashMap<String, DoubleAdder> deadEnds = new ConcurrentHashMap<>();
+        final Set<String> missingScenes = ConcurrentHashMap.newKeySet();
+        final DoubleAdder closed = new DoubleAdder();
+        final DoubleAdder truncated = new DoubleAdder();
+        final DoubleAdder looped = new DoubleAdder();
+        final DoubleAdder[] checkAttempts = newAdders();
+        final DoubleAdder[] checkPasses = newAdders();
+
+        ProfileAccumulator(Character.Role role, Character.Difficulty difficulty) {
+            this.role = role;
+            this.difficulty = difficulty;
+        }
+
+        /** Se llama antes de lanzar las tareas, desde un solo hilo. */
+        Map<String, DoubleAdder> reachFor(String missionId) {
+            return reachByMission.computeIfAbsent(missionId, k -> new ConcurrentHashMap<>());
+        }
+
+        void add(ConcurrentHashMap<String, DoubleAdder> map, String key, double value) {
+            map.computeIfAbsent(key, k -> new DoubleAdder()).add(value);
+        }
+
+        void recordCheck(StatType type, boolean passes, double weight) {
+            checkAttempts[type.ordinal()].add(weight);
+            if (passes) checkPasses[type.ordinal()].add(weight);
+        }
+
+        ProfileReport toReport() {
+            Map<String, Map<String, Double>> reach = new LinkedHashMap<>();
+            for (Map.Entry<String, Map<String, DoubleAdder>> mission : reachByMission.entrySet()) {
+                reach.put(mission.getKey(), Collections.unmodifiableMap(sum(mission.getValue())));
+            }
+            Map<StatType, Double> passRates = new EnumMap<>(StatType.class);
+            for (StatType type : StatType.values()) {
+                double attempts = checkAttempts[type.ordinal()].sum();
+                if (attempts > 0) {
+                    passRates.put(type, checkPasses[type.ordinal()].sum() / attempts);
+                }
+            }
+            return new ProfileReport(role, difficulty, reach, sum(deadEnds), new TreeSet<>(missingScenes),
+                passRates, closed.sum(), truncated.sum(), looped.sum());
+        }
+
+        private static Map<String, Double> sum(Map<String, DoubleAdder> adders) {
+            Map<String, Double> values = new TreeMap<>();
+            for (Map.Entry<String, DoubleAdder> entry : adders.entrySet()) {
+                values.put(entry.getKey(), entry.getValue().sum());
+            }
+            return values;
+        }
+
+        private static DoubleAdder[] newAdders() {
+            DoubleAdder[] adders = new DoubleAdder[StatType.values().length];
+            for (int i = 0; i < adders.length; i++) adders[i] = new DoubleAdder();
+            return adders;
+        }
+    }
+
+    /**
+     * Resultado de un perfil. Las probabilidades de cierre/corte/bucle se suman
+     * sobre todas las misiones (cada misión aporta 1.0 en total).
+     */
+    public static final class ProfileReport {
+        private final Character.Role role;
+        private final Character.Difficulty difficulty;
+        private final Map<String, Map<String, Double>> reachByMission;
+        private final Map<String, Double> deadEnds;
+        private final Set<String> missingScenes;
+        private final Map<StatType, Double> checkPassRates;
+        private final double closedProbability;
+        private final double truncatedProbability;
+        private final double loopProbability;
+
+        ProfileReport(Character.Role role, Character.Difficulty difficulty,
+                      Map<String, Map<String, Double>> reachByMission, Map<String, Double> deadEnds,
+                      Set<String> missingScenes, Map<StatType, Double> checkPassRates,
+                      double closedProbability, double truncatedProbability, double loopProbability) {
+            this.role = role;
+            this.difficulty = difficulty;
+            this.reachByMission = Collections.unmodifiableMap(reachByMission);
+            this.deadEnds = Collections.unmodifiableMap(deadEnds);
+            this.missingScenes = Collections.unmodifiableSet(missingScenes);
+            this.checkPassRates = Collections.unmodifiableMap(checkPassRates);
+            this.closedProbability = closedProbability;
+            this.truncatedProbability = truncatedProbability;
+            this.loopProbability = loopProbability;
+        }
+
+        public Character.Role getRole() { return role; }
+        public Character.Difficulty getDifficulty() { return difficulty; }
+        /** misión -> escena -> probabilidad de que una partida de esa misión la visite. */
+        public Map<String, Map<String, Double>> getReachByMission() { return reachByMission; }
+        /** Escena sin salida (o inexistente) -> probabilidad de quedar atascado ahí. */
+        public Map<String, Double> getDeadEnds() { return deadEnds; }
+        /** Escenas referenciadas por opciones o misiones que no existen. */
+        public Set<String> getMissingScenes() { return missingScenes; }
+        /** Tasa de éxito de checks por stat, ponderada por la probabilidad de intentarlos. */
+        public Map<StatType, Double> getCheckPassRates() { return checkPassRates; }
+        public double getClosedProbability() { return closedProbability; }
+        public double getTruncatedProbability() { return truncatedProbability; }
+        public double getLoopProbability() { return loopProbability; }
+    }
+
+    /**
+     * Resultado de la exploración completa.
+     */
+    public static final class StoryReport {
+        private final List<ProfileReport> profiles;
+        private final Set<String> unreachableScenes;
+        private final Set<String> deadEndScenes;
+        private final Set<String> missingScenes;
+        private final long elapsedMillis;
+
+        StoryReport(List<ProfileReport> profiles, Set<String> allScenes, long elapsedMillis) {
+            this.profiles = Collections.unmodifiableList(profiles);
+            this.elapsedMillis = elapsedMillis;
+
+            Set<String> reached = new LinkedHashSet<>();
+            Set<String> deadEnds = new LinkedHashSet<>();
+            Set<String> missing = new LinkedHashSet<>();
+            for (ProfileReport profile : profiles) {
+                for (Map<String, Double> reach : profile.getReachByMission().values()) {
+                    reached.addAll(reach.keySet());
+                }
+                deadEnds.addAll(profile.getDeadEnds().keySet());
+                missing.addAll(profile.getMissingScenes());
+            }
+            Set<String> unreachable = new LinkedHashSet<>(allScenes);
+            unreachable.removeAll(reached);
+            this.unreachableScenes = Collections.unmodifiableSet(unreachable);
+            this.deadEndScenes = Collections.unmodifiableSet(deadEnds);
+            this.missingScenes = Collections.unmodifiableSet(missing);
+        }
+
+        public List<ProfileReport> getProfiles() { return profiles; }
+        /** Escenas del catálogo que ningún perfil alcanza desde ninguna misión. */
+        public Set<String> getUnreachableScenes() { return unreachableScenes; }
+        public Set<String> getDeadEndScenes() { return deadEndScenes; }
+        public Set<String> getMissingScenes() { return missingScenes; }
+        public long getElapsedMillis() { return elapsedMillis; }
+    }
+
+    // ==================== CLI ====================
+
+    public static void main(String[] args) {
+        StoryReport report = fromContent().explore();
+
+        for (ProfileReport profile : report.getProfiles()) {
+            int missionCount = Math.max(1, profile.getReachByMission().size());
+            System.out.printf("%s/%s: closed %.1f%%, dead end %.1f%%, loop %.1f%%, truncated %.1f%%%n",
+                profile.getRole(), profile.getDifficulty(),
+                100 * profile.getClosedProbability() / missionCount,
+                100 * sumValues(profile.getDeadEnds()) / missionCount,
+                100 * profile.getLoopProbability() / missionCount,
+                100 * profile.getTruncatedProbability() / missionCount);
+            for (Map.Entry<StatType, Double> rate : profile.getCheckPassRates().entrySet()) {
+                System.out.printf("    %-12s pass %.1f%%%n", rate.getKey(), 100 * rate.getValue());
+            }
+        }
+        System.out.println("Dead-end scenes: " + report.getDeadEndScenes());
+        System.out.println("Missing scenes: " + report.getMissingScenes());
+        System.out.println("Unreachable scenes: " + report.getUnreachableScenes());
+        System.out.println("Explored in " + report.getElapsedMillis() + " ms");
+    }
+
+    private static double sumValues(Map<String, Double> values) {
+        double total = 0;
+        for (double value : values.values()) total += value;
+        return total;
+    }
+}
@@ -0,0 +1,76 @@
+package com.neonthread.flags;
+
+import java.util.Arrays;
+
+/**
+ * Condición precompilada sobre flags (requeridos, prohibidos, requeridos en false).
+ * Se arma al cargar el contenido y se evalúa con AND/ANDNOT por palabra de 64 bits:
+ * el costo es O(palabras) sin importar cuántos flags mire la condición.
+ */
+public final class FlagMask {
+    private long[] required = new long[0];
+    private long[] forbidden = new long[0];
+    private long[] requiredFalse = new long[0];
+    private boolean empty = true;
+
+    /** El flag debe estar en true. */
+    public FlagMask require(String name) {
+        int id = FlagRegistry.intern(name);
+        requiredFalse = clearBit(requiredFalse, id);
+        required = setBit(required, id);
+        return this;
+    }
+
+    /** El flag no puede estar en true (ausente o false cumple). */
+    public FlagMask forbid(String name) {
+        forbidden = setBit(forbidden, FlagRegistry.intern(name));
+        return this;
+    }
+
+    /** El flag debe estar asignado explícitamente en false. */
+    public FlagMask requireFalse(String name) {
+        int id = FlagRegistry.intern(name);
+        required = clearBit(required, id);
+        requiredFalse = setBit(requiredFalse, id);
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return empty;
+    }
+
+    public boolean matches(FlagSet flags) {
+        if (empty) return true;
+        for (int word = 0; word < required.length; word++) {
+            long mask = required[word];
+            if ((flags.valueWord(word) & mask) != mask) return false;
+        }
+        for (int word = 0; word < forbidden.length; word++) {
+            if ((flags.valueWord(word) & forbidden[word]) != 0) return false;
+        }
+        for (int word = 0; word < requiredFalse.length; word++) {
+            long mask = requiredFalse[word];
+            long explicitFalse = flags.assignedWord(word) & ~flags.valueWord(word);
+            if ((explicitFalse & mask) != mask) return false;
+        }
+        return true;
+    }
+
+    private long[] setBit(long[] bits, int id) {
+        int word = id >>> 6;
+        if (word >= bits.length) {
+            bits = Arrays.copyOf(bits, word + 1);
+        }
+        bits[word] |= 1L << id;
+        empty = false;
+        return bits;
+    }
+
+    private static long[] clearBit(long[] bits, int id) {
+        int word = id >>> 6;
+        if (word < bits.length) {
+            bits[word] &= ~(1L << id);
+        }
+        return bits;
+    }
+}
@@ -0,0 +1,55 @@
+package com.neonthread.flags;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registro global de flags narrativos: interna cada nombre a un id entero denso (KISS).
+ * Los ids se asignan al cargar el contenido (misiones, escenas) y luego todas las
+ * consultas trabajan sobre bits en lugar de hashear Strings.
+ */
+public final class FlagRegistry {
+    private static final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private static volatile String[] names = new String[64];
+    private static int size = 0;
+
+    private FlagRegistry() {}
+
+    /**
+     * Devuelve el id del flag, registrándolo si es nuevo.
+     */
+    public static int intern(String name) {
+        Integer id = ids.get(name);
+        return id != null ? id : register(name);
+    }
+
+    /**
+     * Devuelve el id del flag o -1 si nunca fue registrado (no registra).
+     */
+    public static int find(String name) {
+        Integer id = ids.get(name);
+        return id != null ? id : -1;
+    }
+
+    public static String nameOf(int id) {
+        return names[id];
+    }
+
+    public static synchronized int size() {
+        return size;
+    }
+
+    private static synchronized int register(String name) {
+        Integer existing = ids.get(name);
+        if (existing != null) return existing;
+
+        if (size == names.length) {
+            names = Arrays.copyOf(names, size * 2);
+        }
+        int id = size++;
+        names[id] = name;
+        ids.put(name, id);
+        return id;
+    }
+}
@@ -0,0 +1,100 @@
+package com.neonthread.flags;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Estado de flags como bits (64 flags por palabra).
+ * Guarda dos bitsets: el valor de cada flag y si fue asignado alguna vez,
+ * porque las opciones de escena distinguen "false" de "nunca definido".
+ */
+public final class FlagSet {
+    private long[] values = new long[1];
+    private long[] assigned = new long[1];
+
+    public void set(String name, boolean value) {
+        set(FlagRegistry.intern(name), value);
+    }
+
+    public void set(int id, boolean value) {
+        int word = id >>> 6;
+        ensureCapacity(word + 1);
+        long bit = 1L << id;
+        assigned[word] |= bit;
+        if (value) {
+            values[word] |= bit;
+        } else {
+            values[word] &= ~bit;
+        }
+    }
+
+    /**
+     * true solo si el flag está asignado y vale true.
+     */
+    public boolean isSet(String name) {
+        int id = FlagRegistry.find(name);
+        return id >= 0 && isSet(id);
+    }
+
+    public boolean isSet(int id) {
+        int word = id >>> 6;
+        return word < values.length && (values[word] & (1L << id)) != 0;
+    }
+
+    public boolean isAssigned(int id) {
+        int word = id >>> 6;
+        return word < assigned.length && (assigned[word] & (1L << id)) != 0;
+    }
+
+    /**
+     * Copia independiente (las ramas de simulación no comparten bits mutables).
+     */
+    public FlagSet copy() {
+        FlagSet copy = new FlagSet();
+        copy.values = values.clone();
+        copy.assigned = assigned.clone();
+        return copy;
+    }
+
+    public void clear() {
+        Arrays.fill(values, 0L);
+        Arrays.fill(assigned, 0L);
+    }
+
+    /**
+     * Nombres de los flags en true.
+     */
+    public Set<String> getActiveNames() {
+        Set<String> active = new LinkedHashSet<>();
+        for (int word = 0; word < values.length; word++) {
+            long bits = values[word];
+            while (bits != 0) {
+                int bit = Long.numberOfTrailingZeros(bits);
+                active.add(FlagRegistry.nameOf((word << 6) + bit));
+                bits &= bits - 1;
+            }
+        }
+        return active;
+    }
+
+    int wordCount() {
+        return values.length;
+    }
+
+    long valueWord(int word) {
+        return word < values.length ? values[word] : 0L;
+    }
+
+    long assignedWord(int word) {
+        return word < assigned.length ? assigned[word] : 0L;
+    }
+
+    private void ensureCapacity(int words) {
+        if (words > values.length) {
+            int capacity = Math.max(words, values.length * 2);
+            values = Arrays.copyOf(values, capacity);
+            assigned = Arrays.copyOf(assigned, capacity);
+        }
+    }
+}
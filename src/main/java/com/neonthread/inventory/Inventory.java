@@ -19,6 +19,16 @@ public class Inventory {
         this.items = new ArrayList<>();
     }
 
+    /**
+     * Copia el inventario para otro dueño sin volver a aplicar modifiers
+     * (el dueño copiado ya trae los suyos).
+     */
+    public Inventory copyFor(Character newOwner) {
+        Inventory copy = new Inventory(newOwner);
+        copy.items.addAll(items);
+        return copy;
+    }
+
     public void addItem(InventoryItem item) {
         items.add(item);
         // Apply modifiers
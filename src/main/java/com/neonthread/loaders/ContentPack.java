@@ -0,0 +1,372 @@
+package com.neonthread.loaders;
+
+import com.neonthread.Mission;
+import com.neonthread.MissionBuilder;
+import com.neonthread.NarrativeScene;
+import com.neonthread.NarrativeScene.AttributeCheck;
+import com.neonthread.NarrativeScene.Consequence;
+import com.neonthread.NarrativeScene.SceneOption;
+import com.neonthread.map.MapConfig;
+import com.neonthread.stats.StatType;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Pack binario precompilado de contenido (misiones, escenas y mapa).
+ * Se genera offline con {@link ContentPackCompiler} y en runtime se mapea
+ * en memoria con FileChannel.map: no hay parseo de texto, solo lecturas
+ * absolutas sobre el buffer (KISS).
+ *
+ * Layout (big-endian):
+ *   cabecera   -> magic, versión, huella de cada fuente JSON, offsets de secciones
+ *   STRINGS    -> tabla de strings UTF-8 deduplicada (offset + longitud por id)
+ *   MISSIONS   -> registros de ancho fijo
+ *   REFS       -> pool de ids de string para las listas de las misiones
+ *   SCENES     -> registros de ancho fijo
+ *   SCENE_INDEX-> índice hash id de escena -> número de registro
+ *   OPTIONS / CHECKS / CONSEQUENCES / FLAGS -> registros de ancho fijo referenciados por rango
+ *   MAP        -> tema + tripletas (nombre, x, y)
+ *
+ * Cada sección empieza con un int de cantidad. Los strings se referencian por id
+ * (NO_STRING para null) y los enums se guardan por nombre para que reordenarlos
+ * no invalide el pack.
+ */
+public final class ContentPack {
+    public static final String PACK_FILE = "config/content.pack";
+
+    static final int MAGIC = 0x4E54504B; // "NTPK"
+    static final int VERSION = 1;
+    static final int NO_STRING = -1;
+
+    /**
+     * Fuentes JSON cubiertas por el pack. Cada una guarda mtime, tamaño y CRC32
+     * para detectar si el pack quedó desactualizado.
+     */
+    public enum Source {
+        MISSIONS("config/missions.json"),
+        SCENES("config/scenes.json"),
+        MAP("config/map.json");
+
+        private final String path;
+
+        Source(String path) { this.path = path; }
+
+        public String getPath() { return path; }
+    }
+
+    // Secciones (orden de la tabla de offsets en la cabecera)
+    static final int SECTION_STRINGS = 0;
+    static final int SECTION_MISSIONS = 1;
+    static final int SECTION_REFS = 2;
+    static final int SECTION_SCENES = 3;
+    static final int SECTION_SCENE_INDEX = 4;
+    static final int SECTION_OPTIONS = 5;
+    static final int SECTION_CHECKS = 6;
+    static final int SECTION_CONSEQUENCES = 7;
+    static final int SECTION_FLAGS = 8;
+    static final int SECTION_MAP = 9;
+    static final int SECTION_COUNT = 10;
+
+    static final int SOURCE_ENTRY_SIZE = 8 + 8 + 4; // mtime, tamaño, crc
+    static final int SOURCES_OFFSET = 8;
+    static final int SECTIONS_OFFSET = SOURCES_OFFSET + Source.values().length * SOURCE_ENTRY_SIZE;
+    static final int HEADER_SIZE = SECTIONS_OFFSET + SECTION_COUNT * 4;
+
+    // Anchos de registro (en ints)
+    static final int MISSION_RECORD = 31;
+    static final int SCENE_RECORD = 8;
+    static final int OPTION_RECORD = 9;
+    static final int CHECK_RECORD = 3;
+    static final int CONSEQUENCE_RECORD = 3;
+    static final int FLAG_RECORD = 2;
+
+    private static ContentPack openPack;
+    private static long openPackModified;
+
+    private final ByteBuffer buffer;
+    private final int[] sections = new int[SECTION_COUNT];
+    private final String[] strings;
+    private final int stringCount;
+
+    private ContentPack(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a content pack");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported content pack version " + buffer.getInt(4));
+        }
+        for (int i = 0; i < SECTION_COUNT; i++) {
+            int offset = buffer.getInt(SECTIONS_OFFSET + i * 4);
+            if (offset < HEADER_SIZE || offset + 4 > buffer.limit()) {
+                throw new IOException("Corrupt content pack section " + i);
+            }
+            sections[i] = offset;
+        }
+        this.stringCount = count(SECTION_STRINGS);
+        this.strings = new String[stringCount];
+    }
+
+    /**
+     * Abre (y cachea) el pack de contenido. Devuelve null si no existe o es inválido,
+     * en cuyo caso los loaders caen al JSON.
+     */
+    public static synchronized ContentPack open() {
+        File file = new File(PACK_FILE);
+        if (!file.exists()) {
+            openPack = null;
+            return null;
+        }
+        if (openPack != null && file.lastModified() == openPackModified) {
+            return openPack;
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            // El mapeo sigue siendo válido después de cerrar el canal
+            openPack = new ContentPack(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            openPackModified = file.lastModified();
+        } catch (IOException e) {
+            System.err.println("Content pack unavailable: " + e.getMessage());
+            openPack = null;
+        }
+        return openPack;
+    }
+
+    // ==================== STALENESS ====================
+
+    /**
+     * Indica si la fuente JSON coincide con la que se compiló en el pack.
+     * Primero compara mtime y tamaño; si el mtime cambió pero el tamaño coincide
+     * se recalcula el CRC32 (archivo tocado pero sin cambios reales).
+     */
+    public boolean isFresh(Source source) {
+        int entry = SOURCES_OFFSET + source.ordinal() * SOURCE_ENTRY_SIZE;
+        long packedModified = buffer.getLong(entry);
+        long packedLength = buffer.getLong(entry + 8);
+        int packedCrc = buffer.getInt(entry + 16);
+
+        File file = new File(source.getPath());
+        if (!file.exists()) {
+            return packedLength < 0;
+        }
+        if (file.length() != packedLength) {
+            return false;
+        }
+        if (file.lastModified() == packedModified) {
+            return true;
+        }
+        try {
+            return checksum(file) == packedCrc;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    static int checksum(File file) throws IOException {
+        CRC32 crc = new CRC32();
+        byte[] chunk = new byte[8192];
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            int read;
+            while ((read = in.read(chunk)) > 0) {
+                crc.update(chunk, 0, read);
+            }
+        }
+        return (int) crc.getValue();
+    }
+
+    // ==================== MISSIONS ====================
+
+    public int getMissionCount() {
+        return count(SECTION_MISSIONS);
+    }
+
+    public List<Mission> readMissions() {
+        int total = getMissionCount();
+        List<Mission> missions = new ArrayList<>(total);
+        for (int i = 0; i < total; i++) {
+            missions.add(readMission(i));
+        }
+        return missions;
+    }
+
+    public Mission readMission(int index) {
+        int r = record(SECTION_MISSIONS, index, MISSION_RECORD);
+        MissionBuilder builder = new MissionBuilder()
+            .setId(string(field(r, 0)))
+            .setTitle(string(field(r, 1)))
+            .setDescription(string(field(r, 2)))
+            .setRewardCredits(field(r, 3))
+            .setRewardInfo(string(field(r, 4)))
+            .setType(Mission.MissionType.valueOf(string(field(r, 5))))
+            .setPriority(Mission.MissionPriority.valueOf(string(field(r, 6))))
+            .setUrgency(Mission.MissionUrgency.valueOf(string(field(r, 7))))
+            .setDifficulty(field(r, 8))
+            .setNextScene(string(field(r, 9)))
+            .setMinReputation(field(r, 12))
+            .setMaxReputation(field(r, 13))
+            .setMinNotoriety(field(r, 14))
+            .setMaxNotoriety(field(r, 15))
+            .setMinKarma(field(r, 16))
+            .setMaxKarma(field(r, 17))
+            .setRequiredDistrictState(string(field(r, 22)))
+            .setReputationDelta(field(r, 27))
+            .setDistrictChange(string(field(r, 28)));
+
+        for (String value : refs(field(r, 10), field(r, 11))) builder.addRequirement(value);
+        for (String value : refs(field(r, 18), field(r, 19))) builder.addRequiredFlag(value);
+        for (String value : refs(field(r, 20), field(r, 21))) builder.addForbiddenFlag(value);
+        for (String value : refs(field(r, 23), field(r, 24))) builder.addFlagToSet(value);
+        for (String value : refs(field(r, 25), field(r, 26))) builder.addFlagToClear(value);
+        for (String value : refs(field(r, 29), field(r, 30))) builder.addNarrativeItem(value);
+        return builder.build();
+    }
+
+    // ==================== SCENES ====================
+
+    public int getSceneCount() {
+        return count(SECTION_SCENES);
+    }
+
+    /**
+     * Busca una escena por id en el índice hash sin materializar las demás.
+     */
+    public NarrativeScene readScene(String id) {
+        int index = findScene(id);
+        return index < 0 ? null : readScene(index);
+    }
+
+    public NarrativeScene readScene(int index) {
+        int r = record(SECTION_SCENES, index, SCENE_RECORD);
+        NarrativeScene scene = new NarrativeScene(string(field(r, 0)), string(field(r, 1)), string(field(r, 2)));
+        String location = string(field(r, 3));
+        String music = string(field(r, 4));
+        if (location != null) scene.setUbicacion(location);
+        if (music != null) scene.setMusicaOpcional(music);
+        scene.setEsCierre(field(r, 5) != 0);
+
+        int start = field(r, 6);
+        int end = start + field(r, 7);
+        for (int i = start; i < end; i++) {
+            scene.addOpcion(readOption(i));
+        }
+        return scene;
+    }
+
+    public String getSceneId(int index) {
+        return string(field(record(SECTION_SCENES, index, SCENE_RECORD), 0));
+    }
+
+    int findScene(String id) {
+        int base = sections[SECTION_SCENE_INDEX];
+        int capacity = buffer.getInt(base);
+        if (capacity == 0 || id == null) return -1;
+        int mask = capacity - 1;
+        int slot = id.hashCode() & mask;
+        for (int probe = 0; probe < capacity; probe++) {
+            int index = buffer.getInt(base + 4 + slot * 4);
+            if (index < 0) return -1;
+            if (id.equals(getSceneId(index))) return index;
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private SceneOption readOption(int index) {
+        int r = record(SECTION_OPTIONS, index, OPTION_RECORD);
+        SceneOption option = new SceneOption(string(field(r, 0)), string(field(r, 1)));
+        String failScene = string(field(r, 2));
+        if (failScene != null) option.setEscenaFallo(failScene);
+
+        int start = field(r, 3);
+        int end = start + field(r, 4);
+        for (int i = start; i < end; i++) {
+            int c = record(SECTION_CHECKS, i, CHECK_RECORD);
+            option.addCheck(new AttributeCheck(StatType.valueOf(string(field(c, 0))), field(c, 1), string(field(c, 2))));
+        }
+
+        start = field(r, 5);
+        end = start + field(r, 6);
+        for (int i = start; i < end; i++) {
+            int c = record(SECTION_CONSEQUENCES, i, CONSEQUENCE_RECORD);
+            option.addConsecuencia(new Consequence(
+                Consequence.ConsequenceType.valueOf(string(field(c, 0))), string(field(c, 1)), field(c, 2)));
+        }
+
+        start = field(r, 7);
+        end = start + field(r, 8);
+        for (int i = start; i < end; i++) {
+            int f = record(SECTION_FLAGS, i, FLAG_RECORD);
+            option.addFlagRequerido(string(field(f, 0)), field(f, 1) != 0);
+        }
+        return option;
+    }
+
+    // ==================== MAP ====================
+
+    public MapConfig readMap() {
+        int base = sections[SECTION_MAP];
+        int total = buffer.getInt(base);
+        Map<String, MapConfig.Point> locations = new LinkedHashMap<>();
+        int r = base + 8;
+        for (int i = 0; i < total; i++, r += 12) {
+            locations.put(string(buffer.getInt(r)), new MapConfig.Point(buffer.getInt(r + 4), buffer.getInt(r + 8)));
+        }
+        return new MapConfig(string(buffer.getInt(base + 4)), locations);
+    }
+
+    // ==================== LOW LEVEL ====================
+
+    private int count(int section) {
+        return buffer.getInt(sections[section]);
+    }
+
+    private int record(int section, int index, int width) {
+        return sections[section] + 4 + index * width * 4;
+    }
+
+    private int field(int record, int field) {
+        return buffer.getInt(record + field * 4);
+    }
+
+    private List<String> refs(int start, int length) {
+        List<String> values = new ArrayList<>(length);
+        int base = sections[SECTION_REFS] + 4;
+        for (int i = start; i < start + length; i++) {
+            values.add(string(buffer.getInt(base + i * 4)));
+        }
+        return values;
+    }
+
+    /**
+     * Decodifica un string de la tabla bajo demanda y lo cachea. Una carrera entre hilos
+     * solo produce un decode duplicado, nunca un valor inconsistente (String es inmutable).
+     */
+    String string(int id) {
+        if (id == NO_STRING) return null;
+        if (id < 0 || id >= stringCount) {
+            throw new IllegalStateException("Invalid string id " + id);
+        }
+        String value = strings[id];
+        if (value == null) {
+            int base = sections[SECTION_STRINGS];
+            int offset = buffer.getInt(base + 4 + id * 4);
+            int length = buffer.getInt(base + 4 + stringCount * 4 + id * 4);
+            byte[] bytes = new byte[length];
+            buffer.get(base + offset, bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+            strings[id] = value;
+        }
+        return value;
+    }
+}
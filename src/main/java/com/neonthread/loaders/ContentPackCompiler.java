@@ -0,0 +1,377 @@
+package com.neonthread.loaders;
+
+import com.neonthread.Mission;
+import com.neonthread.MissionDependencyGraph;
+import com.neonthread.NarrativeScene;
+import com.neonthread.NarrativeScene.AttributeCheck;
+import com.neonthread.NarrativeScene.Consequence;
+import com.neonthread.NarrativeScene.SceneOption;
+import com.neonthread.loaders.ContentPack.Source;
+import com.neonthread.map.MapConfig;
+import com.neonthread.map.MapConfigLoader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compilador offline de contenido: convierte missions.json, scenes.json y map.json
+ * en {@link ContentPack#PACK_FILE}. Se ejecuta desde la raíz del proyecto:
+ *
+ *   java -cp bin com.neonthread.loaders.ContentPackCompiler
+ *
+ * Reutiliza los loaders JSON para que el pack contenga exactamente lo mismo
+ * que cargaría el juego sin él (DRY).
+ */
+public final class ContentPackCompiler {
+
+    private final List<String> stringTable = new ArrayList<>();
+    private final Map<String, Integer> stringIds = new HashMap<>();
+
+    private final IntTable missions = new IntTable();
+    private final IntTable refs = new IntTable();
+    private final IntTable scenes = new IntTable();
+    private final IntTable options = new IntTable();
+    private final IntTable checks = new IntTable();
+    private final IntTable consequences = new IntTable();
+    private final IntTable flags = new IntTable();
+    private final IntTable map = new IntTable();
+    private int[] sceneIndex = new int[0];
+
+    public static void main(String[] args) {
+        String output = args.length > 0 ? args[0] : ContentPack.PACK_FILE;
+        try {
+            // Huellas antes de leer: si una fuente se guarda durante la compilación, el pack
+            // queda marcado como viejo en lugar de "al día" con contenido anterior
+            Map<Source, Fingerprint> fingerprints = Fingerprint.takeAll();
+
+            List<Mission> missionList = MissionLoader.loadMissionsFromJson();
+            // Valida el grafo de requirements (ciclos, ids desconocidos) al compilar
+            MissionDependencyGraph.build(missionList).report();
+
+            ContentPackCompiler compiler = new ContentPackCompiler();
+            compiler.compile(
+                missionList,
+                SceneLoader.loadScenesFromJson(),
+                MapConfigLoader.loadFromJson()
+            );
+            compiler.write(new File(output), fingerprints);
+            System.out.println("Content pack written: " + output
+                + " (" + compiler.missions.count + " missions, " + compiler.scenes.count + " scenes)");
+        } catch (IOException e) {
+            System.err.println("Error compiling content pack: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    // ==================== COMPILE ====================
+
+    void compile(List<Mission> missionList, List<NarrativeScene> sceneList, MapConfig mapConfig) {
+        for (Mission mission : missionList) {
+            addMission(mission);
+        }
+        for (NarrativeScene scene : sceneList) {
+            addScene(scene);
+        }
+        buildSceneIndex(sceneList);
+        addMap(mapConfig);
+    }
+
+    private void addMission(Mission mission) {
+        Mission.SpawnConditions spawn = mission.getSpawnConditions();
+        Mission.MissionConsequences result = mission.getConsequences();
+        missions.count++;
+        missions.add(intern(mission.getId()));
+        missions.add(intern(mission.getTitle()));
+        missions.add(intern(mission.getDescription()));
+        missions.add(mission.getRewardCredits());
+        missions.add(intern(mission.getRewardInfo()));
+        missions.add(intern(mission.getType().name()));
+        missions.add(intern(mission.getPriority().name()));
+        missions.add(intern(mission.getUrgency().name()));
+        missions.add(mission.getDifficulty());
+        missions.add(intern(mission.getNextSceneId()));
+        addRefs(mission.getRequirements());
+        missions.add(spawn.getMinReputation());
+        missions.add(spawn.getMaxReputation());
+        missions.add(spawn.getMinNotoriety());
+        missions.add(spawn.getMaxNotoriety());
+        missions.add(spawn.getMinKarma());
+        missions.add(spawn.getMaxKarma());
+        addRefs(spawn.getRequiredFlags());
+        addRefs(spawn.getForbiddenFlags());
+        missions.add(intern(spawn.getRequiredDistrictState()));
+        addRefs(result.getFlagsToSet());
+        addRefs(result.getFlagsToClear());
+        missions.add(result.getReputationDelta());
+        missions.add(intern(result.getDistrictChangeId()));
+        addRefs(result.getNarrativeItems());
+    }
+
+    /** Agrega un rango (inicio, cantidad) al registro de misión actual. */
+    private void addRefs(List<String> values) {
+        missions.add(refs.size);
+        missions.add(values.size());
+        for (String value : values) {
+            refs.add(intern(value));
+        }
+    }
+
+    private void addScene(NarrativeScene scene) {
+        scenes.count++;
+        scenes.add(intern(scene.getId()));
+        scenes.add(intern(scene.getTitulo()));
+        scenes.add(intern(scene.getTexto()));
+        scenes.add(intern(scene.getUbicacion()));
+        scenes.add(intern(scene.getMusicaOpcional()));
+        scenes.add(scene.esCierre() ? 1 : 0);
+        scenes.add(options.count);
+        scenes.add(scene.getOpciones().size());
+        for (SceneOption option : scene.getOpciones()) {
+            addOption(option);
+        }
+    }
+
+    private void addOption(SceneOption option) {
+        options.count++;
+        options.add(intern(option.getTexto()));
+        options.add(intern(option.getSiguienteEscena()));
+        options.add(intern(option.getEscenaFallo()));
+
+        options.add(checks.count);
+        options.add(option.getChecks().size());
+        for (AttributeCheck check : option.getChecks()) {
+            checks.count++;
+            checks.add(intern(check.getTipo().name()));
+            checks.add(check.getValorMinimo());
+            checks.add(intern(check.getDescripcion()));
+        }
+
+        options.add(consequences.count);
+        options.add(option.getConsecuencias().size());
+        for (Consequence consequence : option.getConsecuencias()) {
+            consequences.count++;
+            consequences.add(intern(consequence.getTipo().name()));
+            consequences.add(intern(consequence.getKey()));
+            consequences.add(consequence.getValor());
+        }
+
+        options.add(flags.count);
+        options.add(option.getFlagsRequeridos().size());
+        for (Map.Entry<String, Boolean> entry : option.getFlagsRequeridos().entrySet()) {
+            flags.count++;
+            flags.add(intern(entry.getKey()));
+            flags.add(entry.getValue() ? 1 : 0);
+        }
+    }
+
+    /**
+     * Índice hash con sondeo lineal (capacidad potencia de 2, factor de carga <= 0.5).
+     * Usa String.hashCode, que está especificado y es estable entre JVMs.
+     */
+    private void buildSceneIndex(List<NarrativeScene> sceneList) {
+        int capacity = 1;
+        while (capacity < sceneList.size() * 2) {
+            capacity <<= 1;
+        }
+        sceneIndex = new int[sceneList.isEmpty() ? 0 : capacity];
+        Arrays.fill(sceneIndex, -1);
+        int mask = capacity - 1;
+        for (int i = 0; i < sceneList.size(); i++) {
+            String id = sceneList.get(i).getId();
+            if (id == null) continue;
+            int slot = id.hashCode() & mask;
+            while (sceneIndex[slot] >= 0) {
+                slot = (slot + 1) & mask;
+            }
+            sceneIndex[slot] = i;
+        }
+    }
+
+    private void addMap(MapConfig config) {
+        map.count = config.getLocations().size();
+        map.add(intern(config.getTheme()));
+        for (Map.Entry<String, MapConfig.Point> entry : config.getLocations().entrySet()) {
+            map.add(intern(entry.getKey()));
+            map.add(entry.getValue().x);
+            map.add(entry.getValue().y);
+        }
+    }
+
+    private int intern(String value) {
+        if (value == null) return ContentPack.NO_STRING;
+        Integer id = stringIds.get(value);
+        if (id == null) {
+            id = stringTable.size();
+            stringTable.add(value);
+            stringIds.put(value, id);
+        }
+        return id;
+    }
+
+    // ==================== WRITE ====================
+
+    /**
+     * @param fingerprints huellas de las fuentes tomadas antes de cargarlas
+     */
+    void write(File output, Map<Source, Fingerprint> fingerprints) throws IOException {
+        byte[][] sections = new byte[ContentPack.SECTION_COUNT][];
+        sections[ContentPack.SECTION_STRINGS] = encodeStrings();
+        sections[ContentPack.SECTION_MISSIONS] = missions.encode();
+        sections[ContentPack.SECTION_REFS] = refs.encodeWithSize();
+        sections[ContentPack.SECTION_SCENES] = scenes.encode();
+        sections[ContentPack.SECTION_SCENE_INDEX] = encodeSceneIndex();
+        sections[ContentPack.SECTION_OPTIONS] = options.encode();
+        sections[ContentPack.SECTION_CHECKS] = checks.encode();
+        sections[ContentPack.SECTION_CONSEQUENCES] = consequences.encode();
+        sections[ContentPack.SECTION_FLAGS] = flags.encode();
+        sections[ContentPack.SECTION_MAP] = map.encode();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(ContentPack.MAGIC);
+        out.writeInt(ContentPack.VERSION);
+        for (Source source : Source.values()) {
+            Fingerprint fingerprint = fingerprints.get(source);
+            out.writeLong(fingerprint.modified);
+            out.writeLong(fingerprint.length);
+            out.writeInt(fingerprint.crc);
+        }
+        int offset = ContentPack.HEADER_SIZE;
+        for (byte[] section : sections) {
+            out.writeInt(offset);
+            offset += section.length;
+        }
+        for (byte[] section : sections) {
+            out.write(section);
+        }
+        out.flush();
+
+        // Escribir a temporal y renombrar: el juego nunca ve un pack a medio escribir
+        Path target = output.toPath().toAbsolutePath();
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        Files.write(temp, bytes.toByteArray());
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private byte[] encodeStrings() throws IOException {
+        int total = stringTable.size();
+        byte[][] encoded = new byte[total][];
+        for (int i = 0; i < total; i++) {
+            encoded[i] = stringTable.get(i).getBytes(StandardCharsets.UTF_8);
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(total);
+        int offset = 4 + total * 8;
+        for (byte[] value : encoded) {
+            out.writeInt(offset);
+            offset += value.length;
+        }
+        for (byte[] value : encoded) {
+            out.writeInt(value.length);
+        }
+        for (byte[] value : encoded) {
+            out.write(value);
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private byte[] encodeSceneIndex() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(sceneIndex.length);
+        for (int slot : sceneIndex) {
+            out.writeInt(slot);
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Huella de una fuente JSON (mtime, tamaño, CRC32) tal como la compara
+     * {@link ContentPack#isFresh}. Tamaño -1 = el archivo no existía.
+     */
+    static final class Fingerprint {
+        final long modified;
+        final long length;
+        final int crc;
+
+        private Fingerprint(long modified, long length, int crc) {
+            this.modified = modified;
+            this.length = length;
+            this.crc = crc;
+        }
+
+        static Fingerprint of(Source source) throws IOException {
+            File file = new File(source.getPath());
+            if (!file.exists()) {
+                return new Fingerprint(0L, -1L, 0);
+            }
+            // mtime y tamaño antes del CRC: si el archivo cambia mientras tanto, la huella
+            // ya no coincide con el archivo nuevo y el pack se considera viejo
+            long modified = file.lastModified();
+            long length = file.length();
+            return new Fingerprint(modified, length, ContentPack.checksum(file));
+        }
+
+        static Map<Source, Fingerprint> takeAll() throws IOException {
+            Map<Source, Fingerprint> fingerprints = new EnumMap<>(Source.class);
+            for (Source source : Source.values()) {
+                fingerprints.put(source, of(source));
+            }
+            return fingerprints;
+        }
+    }
+
+    /**
+     * Tabla de ints creciente: cantidad de registros + datos planos.
+     */
+    private static class IntTable {
+        private int[] data = new int[256];
+        private int size;
+        private int count;
+
+        void add(int value) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, size * 2);
+            }
+            data[size++] = value;
+        }
+
+        /** Sección de registros: la cantidad es el número de registros. */
+        byte[] encode() throws IOException {
+            return encode(count);
+        }
+
+        /** Pool plano: la cantidad es el número de ints. */
+        byte[] encodeWithSize() throws IOException {
+            return encode(size);
+        }
+
+        private byte[] encode(int header) throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(4 + size * 4);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(header);
+            for (int i = 0; i < size; i++) {
+                out.writeInt(data[i]);
+            }
+            out.flush();
+            return bytes.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.neonthread.loaders;
+
+import com.neonthread.Mission;
+import com.neonthread.localization.Localization;
+import com.neonthread.map.MapConfigLoader;
+import com.neonthread.settings.GameSettings;
+
+import javax.swing.SwingUtilities;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+/**
+ * Pipeline de carga de contenido al arrancar (KISS).
+ * Settings, localización, misiones, escenas y mapa se cargan en paralelo sobre el
+ * ForkJoinPool común mientras corren las pantallas de bootstrap/boot/logo/menú.
+ * LoadingRunScreen enlaza su barra a estas etapas y el juego consume los resultados
+ * ya listos, así ningún frame interactivo espera I/O. Nada de acá bloquea al que llama.
+ */
+public final class ContentPreloader {
+    private static final ForkJoinPool POOL = ForkJoinPool.commonPool();
+
+    private static CompletableFuture<Void> map;
+    private static CompletableFuture<Void> scenes;
+    private static CompletableFuture<Void> localization;
+    private static CompletableFuture<List<Mission>> missions; // Set de la próxima partida
+
+    private ContentPreloader() {}
+
+    /**
+     * Etapa de carga con el mensaje que muestra la consola de carga.
+     */
+    public static final class Stage {
+        private final String message;
+        private final CompletableFuture<?> future;
+
+        Stage(String message, CompletableFuture<?> future) {
+            this.message = message;
+            this.future = future;
+        }
+
+        public String getMessage() { return message; }
+        public CompletableFuture<?> getFuture() { return future; }
+    }
+
+    /**
+     * Arranca la carga en paralelo. Idempotente.
+     */
+    public static synchronized void start() {
+        if (missions != null) return;
+
+        CompletableFuture<Void> settings = CompletableFuture.runAsync(() -> {
+            GameSettings.getInstance();
+            com.neonthread.GameSettings.getInstance();
+        }, POOL);
+        localization = settings.thenRunAsync(() -> {
+            Localization localizationBundles = Localization.getInstance();
+            localizationBundles.preloadLanguage("en");
+            localizationBundles.preloadLanguage(GameSettings.getInstance().localization.getLanguage());
+        }, POOL);
+        localization = logFailure(localization, "settings/localization");
+        missions = loadMissionsAsync();
+        scenes = logFailure(CompletableFuture.runAsync(
+            () -> SceneLoader.getScene(SceneLoader.INITIAL_SCENE_ID), POOL), "scenes");
+        map = logFailure(CompletableFuture.runAsync(MapConfigLoader::load, POOL), "map");
+    }
+
+    /**
+     * Etapas de la carga en curso. La de misiones es siempre el set de la próxima partida,
+     * así LoadingRunScreen espera también las misiones recargadas de un segundo run.
+     */
+    public static synchronized List<Stage> getStages() {
+        start();
+        List<Stage> pipeline = new ArrayList<>();
+        pipeline.add(new Stage("> Initializing urban environment...", map));
+        pipeline.add(new Stage("> Loading neural modules...", scenes));
+        pipeline.add(new Stage("> Connecting to the network...", missions));
+        pipeline.add(new Stage("> Synchronizing identity...", localization));
+        return Collections.unmodifiableList(pipeline);
+    }
+
+    /**
+     * Entrega las misiones precargadas y deja cargando un set nuevo para la próxima
+     * partida (las misiones son mutables, cada run necesita instancias propias).
+     *
+     * No bloquea: si ya están listas (lo normal, LoadingRunScreen espera esa etapa)
+     * {@code consumer} corre en el acto; si no, corre en el EDT cuando terminen.
+     */
+    public static void takeMissions(Consumer<List<Mission>> consumer) {
+        CompletableFuture<List<Mission>> ready;
+        synchronized (ContentPreloader.class) {
+            start();
+            ready = missions;
+            missions = loadMissionsAsync();
+        }
+        List<Mission> loaded = ready.getNow(null);
+        if (loaded != null) {
+            consumer.accept(loaded);
+        } else {
+            ready.thenAcceptAsync(consumer, SwingUtilities::invokeLater);
+        }
+    }
+
+    private static CompletableFuture<List<Mission>> loadMissionsAsync() {
+        return CompletableFuture.supplyAsync(MissionLoader::loadMissions, POOL)
+            .exceptionally(e -> {
+                System.err.println("Error preloading missions: " + e.getMessage());
+                return new ArrayList<>();
+            });
+    }
+
+    /**
+     * Una etapa fallida se registra pero no frena la carga: cada loader tiene su propio fallback.
+     */
+    private static CompletableFuture<Void> logFailure(CompletableFuture<Void> future, String name) {
+        return future.exceptionally(e -> {
+            System.err.println("Error preloading " + name + ": " + e.getMessage());
+            return null;
+        });
+    }
+}
@@ -2,17 +2,35 @@ package com.neonthread.loaders;
 
 import com.neonthread.Mission;
 import com.neonthread.MissionBuilder;
-import com.neonthread.utils.SimpleJsonParser;
+import com.neonthread.utils.JsonPullParser;
+import com.neonthread.utils.JsonPullParser.Token;
+import com.neonthread.utils.JsonSyntaxException;
 
 import java.io.File;
+import java.io.IOException;
 import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 public class MissionLoader {
     private static final String MISSIONS_FILE = "config/missions.json";
-    @SuppressWarnings("unchecked")    public static List<Mission> loadMissions() {
+
+    /**
+     * Carga las misiones desde el pack binario si está al día; si no, desde el JSON.
+     */
+    public static List<Mission> loadMissions() {
+        ContentPack pack = ContentPack.open();
+        if (pack != null && pack.isFresh(ContentPack.Source.MISSIONS)) {
+            try {
+                return pack.readMissions();
+            } catch (Exception e) {
+                System.err.println("Error reading missions from content pack: " + e.getMessage());
+            }
+        }
+        return loadMissionsFromJson();
+    }
+
+    public static List<Mission> loadMissionsFromJson() {
         List<Mission> missions = new ArrayList<>();
         File file = new File(MISSIONS_FILE);
         if (!file.exists()) {
@@ -20,20 +38,24 @@ public class MissionLoader {
             return missions;
         }
 
-        try {
-            String content = new String(Files.readAllBytes(file.toPath()));
-            Object parsed = SimpleJsonParser.parse(content);
-            
-            if (parsed instanceof List) {
-                List<Object> list = (List<Object>) parsed;
-                for (Object item : list) {
-                    if (item instanceof Map) {
-                        try {
-                            missions.add(parseMission((Map<String, Object>) item));
-                        } catch (Exception e) {
-                            System.err.println("Error parsing mission: " + e.getMessage());
-                            e.printStackTrace();
-                        }
+        // Streaming: cada misión se enlaza directamente desde los tokens al MissionBuilder
+        try (JsonPullParser parser = new JsonPullParser(Files.newInputStream(file.toPath()))) {
+            if (parser.next() == Token.START_ARRAY) {
+                Token token;
+                while ((token = parser.next()) != Token.END_ARRAY && token != Token.END_DOCUMENT) {
+                    if (token != Token.START_OBJECT) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    try {
+                        missions.add(readMission(parser));
+                    } catch (JsonSyntaxException e) {
+                        throw e; // El stream ya no es confiable
+                    } catch (Exception e) {
+                        // Error de tipo o de binding: se descarta solo este registro
+                        System.err.println("Error parsing mission: " + e.getMessage());
+                        e.printStackTrace();
+                        parser.skipToDepth(1);
                     }
                 }
             }
@@ -43,80 +65,99 @@ public class MissionLoader {
         return missions;
     }
 
-    @SuppressWarnings("unchecked")
-    private static Mission parseMission(Map<String, Object> data) {
-        String id = (String) data.get("id");
-        if (id == null) throw new IllegalArgumentException("Mission ID is missing");
+    /**
+     * Enlaza un objeto misión (parser posicionado en START_OBJECT).
+     */
+    private static Mission readMission(JsonPullParser p) throws IOException {
+        MissionBuilder builder = new MissionBuilder();
+        boolean hasRewardCredits = false;
+        String rewardInfo = null;
 
-        MissionBuilder builder = new MissionBuilder(id);
-        
-        if (data.containsKey("title")) builder.setTitle((String) data.get("title"));
-        if (data.containsKey("description")) builder.setDescription((String) data.get("description"));
-        
-        if (data.containsKey("rewardCredits")) {
-            int credits = ((Number) data.get("rewardCredits")).intValue();
-            String info = (String) data.get("rewardInfo");
-            builder.setReward(credits, info);
+        while (p.next() == Token.FIELD_NAME) {
+            String field = p.getText();
+            p.next();
+            switch (field) {
+                case "id": builder.setId(p.getStringValue()); break;
+                case "title": builder.setTitle(p.getStringValue()); break;
+                case "description": builder.setDescription(p.getStringValue()); break;
+                case "rewardCredits":
+                    builder.setRewardCredits(p.getIntValue());
+                    hasRewardCredits = true;
+                    break;
+                case "rewardInfo": rewardInfo = p.getStringValue(); break;
+                case "type": builder.setType(Mission.MissionType.valueOf(p.getStringValue())); break;
+                case "priority": builder.setPriority(Mission.MissionPriority.valueOf(p.getStringValue())); break;
+                case "urgency": builder.setUrgency(Mission.MissionUrgency.valueOf(p.getStringValue())); break;
+                case "difficulty": builder.setDifficulty(p.getIntValue()); break;
+                case "nextScene": builder.setNextScene(p.getStringValue()); break;
+                case "requirements":
+                    if (p.acceptArray()) {
+                        while (p.next() != Token.END_ARRAY) builder.addRequirement(p.getStringValue());
+                    }
+                    break;
+                case "spawnConditions": if (p.acceptObject()) readSpawnConditions(p, builder); break;
+                case "consequences": if (p.acceptObject()) readConsequences(p, builder); break;
+                default: p.skipChildren(); break;
+            }
         }
-        
-        if (data.containsKey("type")) builder.setType(Mission.MissionType.valueOf((String) data.get("type")));
-        if (data.containsKey("priority")) builder.setPriority(Mission.MissionPriority.valueOf((String) data.get("priority")));
-        if (data.containsKey("urgency")) builder.setUrgency(Mission.MissionUrgency.valueOf((String) data.get("urgency")));
-        if (data.containsKey("difficulty")) builder.setDifficulty(((Number) data.get("difficulty")).intValue());
-        if (data.containsKey("nextScene")) builder.setNextScene((String) data.get("nextScene"));
 
-        // Requirements
-        if (data.containsKey("requirements")) {
-            List<Object> reqs = (List<Object>) data.get("requirements");
-            for (Object r : reqs) builder.addRequirement((String) r);
+        if (hasRewardCredits) {
+            builder.setRewardInfo(rewardInfo);
         }
+        return builder.build();
+    }
 
-        // Spawn Conditions
-        if (data.containsKey("spawnConditions")) {
-            Map<String, Object> sc = (Map<String, Object>) data.get("spawnConditions");
-            if (sc.containsKey("minReputation")) builder.setMinReputation(((Number) sc.get("minReputation")).intValue());
-            if (sc.containsKey("maxReputation")) builder.setMaxReputation(((Number) sc.get("maxReputation")).intValue());
-            if (sc.containsKey("minNotoriety")) builder.setMinNotoriety(((Number) sc.get("minNotoriety")).intValue());
-            if (sc.containsKey("maxNotoriety")) builder.setMaxNotoriety(((Number) sc.get("maxNotoriety")).intValue());
-            if (sc.containsKey("minKarma")) builder.setMinKarma(((Number) sc.get("minKarma")).intValue());
-            if (sc.containsKey("maxKarma")) builder.setMaxKarma(((Number) sc.get("maxKarma")).intValue());
-            
-            if (sc.containsKey("requiredFlags")) {
-                List<Object> flags = (List<Object>) sc.get("requiredFlags");
-                for (Object f : flags) builder.addRequiredFlag((String) f);
-            }
-            if (sc.containsKey("forbiddenFlags")) {
-                List<Object> flags = (List<Object>) sc.get("forbiddenFlags");
-                for (Object f : flags) builder.addForbiddenFlag((String) f);
-            }
-            if (sc.containsKey("requiredDistrictState")) {
-                builder.setRequiredDistrictState((String) sc.get("requiredDistrictState"));
+    private static void readSpawnConditions(JsonPullParser p, MissionBuilder builder) throws IOException {
+        while (p.next() == Token.FIELD_NAME) {
+            String field = p.getText();
+            p.next();
+            switch (field) {
+                case "minReputation": builder.setMinReputation(p.getIntValue()); break;
+                case "maxReputation": builder.setMaxReputation(p.getIntValue()); break;
+                case "minNotoriety": builder.setMinNotoriety(p.getIntValue()); break;
+                case "maxNotoriety": builder.setMaxNotoriety(p.getIntValue()); break;
+                case "minKarma": builder.setMinKarma(p.getIntValue()); break;
+                case "maxKarma": builder.setMaxKarma(p.getIntValue()); break;
+                case "requiredFlags":
+                    if (p.acceptArray()) {
+                        while (p.next() != Token.END_ARRAY) builder.addRequiredFlag(p.getStringValue());
+                    }
+                    break;
+                case "forbiddenFlags":
+                    if (p.acceptArray()) {
+                        while (p.next() != Token.END_ARRAY) builder.addForbiddenFlag(p.getStringValue());
+                    }
+                    break;
+                case "requiredDistrictState": builder.setRequiredDistrictState(p.getStringValue()); break;
+                default: p.skipChildren(); break;
             }
         }
+    }
 
-        // Consequences
-        if (data.containsKey("consequences")) {
-             Map<String, Object> cons = (Map<String, Object>) data.get("consequences");
-             if (cons.containsKey("districtChange")) {
-                 builder.setDistrictChange((String) cons.get("districtChange"));
-             }
-             if (cons.containsKey("reputationDelta")) {
-                 builder.setReputationDelta(((Number) cons.get("reputationDelta")).intValue());
-             }
-             if (cons.containsKey("flagsToSet")) {
-                 List<Object> flags = (List<Object>) cons.get("flagsToSet");
-                 for (Object f : flags) builder.addFlagToSet((String) f);
-             }
-             if (cons.containsKey("flagsToClear")) {
-                 List<Object> flags = (List<Object>) cons.get("flagsToClear");
-                 for (Object f : flags) builder.addFlagToClear((String) f);
-             }
-             if (cons.containsKey("narrativeItems")) {
-                 List<Object> items = (List<Object>) cons.get("narrativeItems");
-                 for (Object i : items) builder.addNarrativeItem((String) i);
-             }
+    private static void readConsequences(JsonPullParser p, MissionBuilder builder) throws IOException {
+        while (p.next() == Token.FIELD_NAME) {
+            String field = p.getText();
+            p.next();
+            switch (field) {
+                case "districtChange": builder.setDistrictChange(p.getStringValue()); break;
+                case "reputationDelta": builder.setReputationDelta(p.getIntValue()); break;
+                case "flagsToSet":
+                    if (p.acceptArray()) {
+                        while (p.next() != Token.END_ARRAY) builder.addFlagToSet(p.getStringValue());
+                    }
+                    break;
+                case "flagsToClear":
+                    if (p.acceptArray()) {
+                        while (p.next() != Token.END_ARRAY) builder.addFlagToClear(p.getStringValue());
+                    }
+                    break;
+                case "narrativeItems":
+                    if (p.acceptArray()) {
+                        while (p.next() != Token.END_ARRAY) builder.addNarrativeItem(p.getStringValue());
+                    }
+                    break;
+                default: p.skipChildren(); break;
+            }
         }
-
-        return builder.build();
     }
 }
@@ -5,114 +5,486 @@ import com.neonthread.NarrativeScene.SceneOption;
 import com.neonthread.NarrativeScene.AttributeCheck;
 import com.neonthread.NarrativeScene.Consequence;
 import com.neonthread.stats.StatType;
-import com.neonthread.utils.SimpleJsonParser;
+import com.neonthread.utils.JsonPullParser;
+import com.neonthread.utils.JsonPullParser.Token;
+import com.neonthread.utils.JsonSyntaxException;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Carga de escenas bajo demanda (KISS).
+ * El JSON se indexa en una pasada incremental (id -> rango de bytes) que solo avanza
+ * hasta encontrar la escena pedida; cada escena se materializa leyendo únicamente su rango
+ * y se guarda en una caché LRU acotada. Si el pack binario está al día se usa su índice.
+ *
+ * Concurrencia: la caché tiene su propio lock, que solo cubre buscar e insertar; un hit
+ * nunca espera I/O. Cada escena en carga se publica como un CompletableFuture: un miss
+ * sobre una escena que el prefetcher ya está cargando se une a esa carga, y un miss sobre
+ * otra escena carga en paralelo sin esperar. El lock del índice solo se toma para avanzar
+ * el indexador o al cambiar scenes.json. El indexador reabre el archivo en cada tramo y
+ * retoma desde el último byte indexado, así no queda ningún archivo abierto entre consultas.
+ *
+ * Ids repetidos: gana siempre la primera definición, igual que en el índice del pack y en
+ * el grafo de misiones. Así el indexador puede responder sin recorrer el resto del archivo.
+ */
 public class SceneLoader {
+    public static final String INITIAL_SCENE_ID = "scene_01";
     private static final String SCENES_FILE = "config/scenes.json";
-    private static Map<String, NarrativeScene> sceneCache = new HashMap<>();
+    private static final int CACHE_CAPACITY = 64;
 
-    @SuppressWarnings("unchecked")
-    public static void loadScenes() {
+    // Guardado por su propio monitor
+    private static final Map<String, NarrativeScene> sceneCache =
+        new LinkedHashMap<String, NarrativeScene>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, NarrativeScene> eldest) {
+                return size() > CACHE_CAPACITY;
+            }
+        };
+
+    // Cargas en curso por id: quien llega tarde espera la misma carga en lugar de repetirla
+    private static final Map<String, CompletableFuture<NarrativeScene>> inFlight = new ConcurrentHashMap<>();
+
+    // Fuente vigente; se reemplaza (con indexLock y sceneCache tomados) cuando cambia scenes.json
+    private static volatile SourceState source;
+
+    // Estado del índice (guardado por indexLock; sceneIndex se puede leer sin lock)
+    private static final Object indexLock = new Object();
+    private static final Map<String, SceneSpan> sceneIndex = new ConcurrentHashMap<>();
+    private static long indexResumeOffset = -1; // Byte tras el último elemento indexado (-1 = sin empezar)
+    private static boolean indexComplete;
+
+    /**
+     * Pack a usar (null = JSON) para una versión dada de scenes.json.
+     */
+    private static final class SourceState {
+        final ContentPack pack;
+        final long modified;
+
+        SourceState(ContentPack pack, long modified) {
+            this.pack = pack;
+            this.modified = modified;
+        }
+    }
+
+    public static NarrativeScene getScene(String id) {
+        if (id == null) return null;
+        NarrativeScene cached = cached(id);
+        if (cached != null) return cached;
+
+        CompletableFuture<NarrativeScene> load = new CompletableFuture<>();
+        CompletableFuture<NarrativeScene> running = inFlight.putIfAbsent(id, load);
+        if (running != null) {
+            return running.join(); // Misma escena ya en carga (p. ej. por el prefetcher)
+        }
+        try {
+            // Pudo terminar otra carga entre el primer chequeo y el registro
+            NarrativeScene scene = cached(id);
+            if (scene == null) {
+                scene = load(id);
+            }
+            load.complete(scene);
+            return scene;
+        } catch (RuntimeException | Error e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(id, load);
+        }
+    }
+
+    private static NarrativeScene cached(String id) {
+        synchronized (sceneCache) {
+            return sceneCache.get(id);
+        }
+    }
+
+    /**
+     * Lee y compila la escena sin locks globales; solo toma el de la caché para insertarla.
+     */
+    private static NarrativeScene load(String id) {
+        SourceState state = currentSource();
+        NarrativeScene scene = null;
+        try {
+            scene = state.pack != null ? state.pack.readScene(id) : materialize(id);
+        } catch (Exception e) {
+            System.err.println("Error loading scene " + id + ": " + e.getMessage());
+            e.printStackTrace();
+        }
+        if (scene != null) {
+            scene.getCompilada(); // Compilar al cargar, no en el primer render
+            synchronized (sceneCache) {
+                // Si scenes.json cambió durante la carga, no se mezcla con la caché nueva
+                if (state == source) {
+                    sceneCache.put(id, scene);
+                }
+            }
+        }
+        return scene;
+    }
+
+    /**
+     * Decide de dónde salen las escenas. Sin lock mientras scenes.json no cambie;
+     * si cambió, se reinicia el índice para que nunca apunte a offsets viejos.
+     */
+    private static SourceState currentSource() {
+        long modified = new File(SCENES_FILE).lastModified();
+        SourceState state = source;
+        if (state != null && state.modified == modified) return state;
+
+        synchronized (indexLock) {
+            state = source;
+            if (state != null && state.modified == modified) return state;
+
+            sceneIndex.clear();
+            indexResumeOffset = -1;
+            indexComplete = false;
+            ContentPack candidate = ContentPack.open();
+            ContentPack pack = candidate != null && candidate.isFresh(ContentPack.Source.SCENES) ? candidate : null;
+            state = new SourceState(pack, modified);
+            synchronized (sceneCache) {
+                sceneCache.clear();
+                source = state;
+            }
+            return state;
+        }
+    }
+
+    private static NarrativeScene materialize(String id) throws IOException {
+        SceneSpan span = sceneIndex.get(id);
+        if (span == null) {
+            synchronized (indexLock) {
+                span = sceneIndex.get(id); // Otro hilo pudo indexarla mientras esperábamos
+                if (span == null && !indexComplete) {
+                    span = indexUntil(id);
+                }
+            }
+        }
+        if (span == null) return null;
+
+        ByteBuffer bytes = ByteBuffer.allocate(span.length);
+        try (FileChannel channel = FileChannel.open(Paths.get(SCENES_FILE), StandardOpenOption.READ)) {
+            long position = span.start;
+            while (bytes.hasRemaining()) {
+                int read = channel.read(bytes, position);
+                if (read < 0) break;
+                position += read;
+            }
+        }
+        bytes.flip();
+        try (JsonPullParser parser = new JsonPullParser(bytes)) {
+            parser.expect(Token.START_OBJECT);
+            return readScene(parser);
+        }
+    }
+
+    /**
+     * Avanza el indexador hasta encontrar la escena pedida, registrando de paso
+     * el rango de todas las escenas recorridas. Sin materializar nada.
+     * Abre el archivo en el último byte indexado y lo cierra al volver.
+     * Se llama con indexLock tomado.
+     */
+    private static SceneSpan indexUntil(String wanted) {
         File file = new File(SCENES_FILE);
         if (!file.exists()) {
             System.err.println("Scenes file not found: " + SCENES_FILE);
-            return;
+            indexComplete = true;
+            return null;
         }
 
-        try {
-            String content = new String(Files.readAllBytes(file.toPath()));
-            Object parsed = SimpleJsonParser.parse(content);
-            
-            if (parsed instanceof List) {
-                List<Object> list = (List<Object>) parsed;
-                for (Object item : list) {
-                    if (item instanceof Map) {
-                        try {
-                            NarrativeScene scene = parseScene((Map<String, Object>) item);
-                            sceneCache.put(scene.getId(), scene);
-                        } catch (Exception e) {
-                            System.err.println("Error parsing scene: " + e.getMessage());
-                            e.printStackTrace();
-                        }
+        try (InputStream in = openAt(file, indexResumeOffset)) {
+            JsonPullParser indexer;
+            if (indexResumeOffset < 0) {
+                indexer = new JsonPullParser(in);
+                if (indexer.next() != Token.START_ARRAY) {
+                    indexComplete = true;
+                    return null;
+                }
+            } else {
+                indexer = JsonPullParser.resumeArray(in, indexResumeOffset);
+            }
+
+            Token token;
+            while ((token = indexer.next()) != Token.END_ARRAY && token != Token.END_DOCUMENT) {
+                if (token != Token.START_OBJECT) {
+                    indexer.skipChildren();
+                    indexResumeOffset = indexer.getPosition();
+                    continue;
+                }
+                long start = indexer.getTokenStart();
+                String id = null;
+                while (indexer.next() == Token.FIELD_NAME) {
+                    String field = indexer.getText();
+                    indexer.next();
+                    if ("id".equals(field) && indexer.current() == Token.STRING) {
+                        id = indexer.getStringValue();
+                    } else {
+                        indexer.skipChildren();
+                    }
+                }
+                indexResumeOffset = indexer.getPosition();
+                if (id == null) continue;
+
+                SceneSpan span = new SceneSpan(start, (int) (indexResumeOffset - start));
+                SceneSpan first = sceneIndex.putIfAbsent(id, span);
+                if (first != null) {
+                    System.err.println("Duplicate scene id " + id + ", keeping the first definition");
+                    span = first;
+                }
+                if (id.equals(wanted)) return span;
+            }
+        } catch (IOException e) {
+            System.err.println("Error indexing scenes: " + e.getMessage());
+            e.printStackTrace();
+        }
+        indexComplete = true;
+        return null;
+    }
+
+    /**
+     * Stream sobre el archivo desde {@code offset} (o desde el principio si es negativo).
+     */
+    private static InputStream openAt(File file, long offset) throws IOException {
+        if (offset < 0) {
+            return Files.newInputStream(file.toPath());
+        }
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        channel.position(offset);
+        return Channels.newInputStream(channel); // Cerrar el stream cierra el canal
+    }
+
+    /**
+     * Todas las escenas ya compiladas en un mapa inmutable id -> escena (del pack si está
+     * al día, si no del JSON). Para quien lee en paralelo sin pasar por la caché ni sus
+     * locks, como GameEngine o StoryExplorer.
+     */
+    public static Map<String, NarrativeScene> loadSceneMap() {
+        List<NarrativeScene> scenes;
+        ContentPack pack = ContentPack.open();
+        if (pack != null && pack.isFresh(ContentPack.Source.SCENES)) {
+            scenes = new ArrayList<>(pack.getSceneCount());
+            for (int i = 0; i < pack.getSceneCount(); i++) {
+                scenes.add(pack.readScene(i));
+            }
+        } else {
+            scenes = loadScenesFromJson();
+        }
+
+        Map<String, NarrativeScene> sceneMap = new LinkedHashMap<>();
+        for (NarrativeScene scene : scenes) {
+            scene.getCompilada(); // Compilar antes de compartir entre hilos
+            if (sceneMap.putIfAbsent(scene.getId(), scene) != null) {
+                System.err.println("Duplicate scene id " + scene.getId() + ", keeping the first definition");
+            }
+        }
+        return Collections.unmodifiableMap(sceneMap);
+    }
+
+    /**
+     * Parsea todas las escenas del JSON (usado por el compilador de contenido).
+     */
+    public static List<NarrativeScene> loadScenesFromJson() {
+        List<NarrativeScene> scenes = new ArrayList<>();
+        File file = new File(SCENES_FILE);
+        if (!file.exists()) {
+            System.err.println("Scenes file not found: " + SCENES_FILE);
+            return scenes;
+        }
+
+        try (JsonPullParser parser = new JsonPullParser(Files.newInputStream(file.toPath()))) {
+            if (parser.next() == Token.START_ARRAY) {
+                Token token;
+                while ((token = parser.next()) != Token.END_ARRAY && token != Token.END_DOCUMENT) {
+                    if (token != Token.START_OBJECT) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    try {
+                        scenes.add(readScene(parser));
+                    } catch (JsonSyntaxException e) {
+                        throw e; // El stream ya no es confiable
+                    } catch (Exception e) {
+                        // Error de tipo o de binding: se descarta solo este registro
+                        System.err.println("Error parsing scene: " + e.getMessage());
+                        e.printStackTrace();
+                        parser.skipToDepth(1);
                     }
                 }
             }
         } catch (Exception e) {
             e.printStackTrace();
         }
+        return scenes;
     }
 
-    public static NarrativeScene getScene(String id) {
-        if (sceneCache.isEmpty()) {
-            loadScenes();
+    /**
+     * Rango de bytes de una escena dentro de scenes.json.
+     */
+    private static final class SceneSpan {
+        final long start;
+        final int length;
+
+        SceneSpan(long start, int length) {
+            this.start = start;
+            this.length = length;
         }
-        return sceneCache.get(id);
     }
 
-    @SuppressWarnings("unchecked")
-    private static NarrativeScene parseScene(Map<String, Object> data) {
-        String id = (String) data.get("id");
-        String title = (String) data.get("title");
-        String text = (String) data.get("text");
-        
-        NarrativeScene scene = new NarrativeScene(id, title, text);
-        
-        if (data.containsKey("location")) scene.setUbicacion((String) data.get("location"));
-        if (data.containsKey("music")) scene.setMusicaOpcional((String) data.get("music"));
-        if (data.containsKey("isEnd")) scene.setEsCierre((Boolean) data.get("isEnd"));
-
-        if (data.containsKey("options")) {
-            List<Object> opts = (List<Object>) data.get("options");
-            for (Object o : opts) {
-                scene.addOpcion(parseOption((Map<String, Object>) o));
+    /**
+     * Enlaza un objeto escena (parser posicionado en START_OBJECT).
+     * id/título/texto pueden venir en cualquier orden, por eso se construye al final.
+     */
+    private static NarrativeScene readScene(JsonPullParser p) throws IOException {
+        String id = null;
+        String title = null;
+        String text = null;
+        String location = null;
+        String music = null;
+        boolean hasIsEnd = false;
+        boolean isEnd = false;
+        List<SceneOption> options = new ArrayList<>();
+
+        while (p.next() == Token.FIELD_NAME) {
+            String field = p.getText();
+            p.next();
+            switch (field) {
+                case "id": id = p.getStringValue(); break;
+                case "title": title = p.getStringValue(); break;
+                case "text": text = p.getStringValue(); break;
+                case "location": location = p.getStringValue(); break;
+                case "music": music = p.getStringValue(); break;
+                case "isEnd":
+                    isEnd = p.getBooleanValue();
+                    hasIsEnd = true;
+                    break;
+                case "options":
+                    if (p.acceptArray()) {
+                        while (nextObjectInArray(p)) options.add(readOption(p));
+                    }
+                    break;
+                default: p.skipChildren(); break;
             }
         }
 
+        NarrativeScene scene = new NarrativeScene(id, title, text);
+        if (location != null) scene.setUbicacion(location);
+        if (music != null) scene.setMusicaOpcional(music);
+        if (hasIsEnd) scene.setEsCierre(isEnd);
+        for (SceneOption option : options) {
+            scene.addOpcion(option);
+        }
         return scene;
     }
 
-    @SuppressWarnings("unchecked")
-    private static SceneOption parseOption(Map<String, Object> data) {
-        String text = (String) data.get("text");
-        String nextSceneId = (String) data.get("nextSceneId");
-        
-        SceneOption option = new SceneOption(text, nextSceneId);
-        
-        if (data.containsKey("checks")) {
-            List<Object> checks = (List<Object>) data.get("checks");
-            for (Object c : checks) {
-                Map<String, Object> checkData = (Map<String, Object>) c;
-                StatType type = StatType.valueOf((String) checkData.get("type"));
-                int min = ((Number) checkData.get("min")).intValue();
-                String desc = (String) checkData.get("desc");
-                option.addCheck(new AttributeCheck(type, min, desc));
-            }
+    /**
+     * Avanza al próximo objeto del array actual, saltando los elementos que no son
+     * objetos (null, strings, arrays). Devuelve false en END_ARRAY, con el parser ya
+     * fuera del array, así los campos siguientes del registro se enlazan bien.
+     */
+    private static boolean nextObjectInArray(JsonPullParser p) throws IOException {
+        Token token;
+        while ((token = p.next()) != Token.END_ARRAY && token != Token.END_DOCUMENT) {
+            if (token == Token.START_OBJECT) return true;
+            p.skipChildren();
         }
+        return false;
+    }
+
+    private static SceneOption readOption(JsonPullParser p) throws IOException {
+        String text = null;
+        String nextSceneId = null;
+        List<AttributeCheck> checks = new ArrayList<>();
+        List<Consequence> consequences = new ArrayList<>();
+        Map<String, Boolean> requiredFlags = new HashMap<>();
 
-        if (data.containsKey("consequences")) {
-            List<Object> cons = (List<Object>) data.get("consequences");
-            for (Object c : cons) {
-                Map<String, Object> conData = (Map<String, Object>) c;
-                Consequence.ConsequenceType type = Consequence.ConsequenceType.valueOf((String) conData.get("type"));
-                String key = (String) conData.get("key");
-                int val = conData.containsKey("value") ? ((Number) conData.get("value")).intValue() : 0;
-                option.addConsecuencia(new Consequence(type, key, val));
+        while (p.next() == Token.FIELD_NAME) {
+            String field = p.getText();
+            p.next();
+            switch (field) {
+                case "text": text = p.getStringValue(); break;
+                case "nextSceneId": nextSceneId = p.getStringValue(); break;
+                case "checks":
+                    if (p.acceptArray()) {
+                        while (nextObjectInArray(p)) checks.add(readCheck(p));
+                    }
+                    break;
+                case "consequences":
+                    if (p.acceptArray()) {
+                        while (nextObjectInArray(p)) consequences.add(readConsequence(p));
+                    }
+                    break;
+                case "requiredFlags":
+                    if (p.acceptObject()) {
+                        while (p.next() == Token.FIELD_NAME) {
+                            String flag = p.getText();
+                            p.next();
+                            requiredFlags.put(flag, p.getBooleanValue());
+                        }
+                    }
+                    break;
+                default: p.skipChildren(); break;
             }
         }
-        
-        if (data.containsKey("requiredFlags")) {
-             Map<String, Object> flags = (Map<String, Object>) data.get("requiredFlags");
-             for (Map.Entry<String, Object> entry : flags.entrySet()) {
-                 option.addFlagRequerido(entry.getKey(), (Boolean) entry.getValue());
-             }
-        }
 
+        SceneOption option = new SceneOption(text, nextSceneId);
+        for (AttributeCheck check : checks) option.addCheck(check);
+        for (Consequence consequence : consequences) option.addConsecuencia(consequence);
+        for (Map.Entry<String, Boolean> entry : requiredFlags.entrySet()) {
+            option.addFlagRequerido(entry.getKey(), entry.getValue());
+        }
         return option;
     }
+
+    private static AttributeCheck readCheck(JsonPullParser p) throws IOException {
+        StatType type = null;
+        int min = 0;
+        String desc = null;
+
+        while (p.next() == Token.FIELD_NAME) {
+            String field = p.getText();
+            p.next();
+            switch (field) {
+                case "type": type = StatType.valueOf(p.getStringValue()); break;
+                case "min": min = p.getIntValue(); break;
+                case "desc": desc = p.getStringValue(); break;
+                default: p.skipChildren(); break;
+            }
+        }
+        if (type == null) throw new IllegalArgumentException("Check type is missing");
+        return new AttributeCheck(type, min, desc);
+    }
+
+    private static Consequence readConsequence(JsonPullParser p) throws IOException {
+        Consequence.ConsequenceType type = null;
+        String key = null;
+        int value = 0;
+
+        while (p.next() == Token.FIELD_NAME) {
+            String field = p.getText();
+            p.next();
+            switch (field) {
+                case "type": type = Consequence.ConsequenceType.valueOf(p.getStringValue()); break;
+                case "key": key = p.getStringValue(); break;
+                case "value": value = p.getIntValue(); break;
+                default: p.skipChildren(); break;
+            }
+        }
+        if (type == null) throw new IllegalArgumentException("Consequence type is missing");
+        return new Consequence(type, key, value);
+    }
 }
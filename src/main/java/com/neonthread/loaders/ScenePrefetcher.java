@@ -0,0 +1,58 @@
+package com.neonthread.loaders;
+
+import com.neonthread.NarrativeScene;
+import com.neonthread.NarrativeScene.SceneOption;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Precarga en segundo plano las escenas sucesoras de la escena actual (KISS).
+ * Mientras el typewriter corre, las escenas de éxito y fallo de cada opción se
+ * materializan en la caché de {@link SceneLoader}, así el click del jugador
+ * no paga I/O ni parseo en el EDT.
+ */
+public final class ScenePrefetcher {
+    private static final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "scene-prefetch");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    // Evita encolar dos veces la misma escena mientras está pendiente
+    private static final Map<String, Boolean> pending = new ConcurrentHashMap<>();
+
+    private ScenePrefetcher() {}
+
+    /**
+     * Encola todas las escenas alcanzables en un paso desde la escena dada.
+     */
+    public static void prefetchSuccessors(NarrativeScene scene) {
+        if (scene == null) return;
+        for (SceneOption option : scene.getOpciones()) {
+            prefetch(option.getSiguienteEscena());
+            prefetch(option.getEscenaFallo());
+        }
+    }
+
+    /**
+     * Encola una escena. No bloquea: el chequeo de caché ocurre en el hilo de fondo.
+     */
+    public static void prefetch(String sceneId) {
+        if (sceneId == null || sceneId.isEmpty()) return;
+        if (pending.putIfAbsent(sceneId, Boolean.TRUE) != null) return;
+
+        executor.execute(() -> {
+            try {
+                SceneLoader.getScene(sceneId);
+            } catch (Exception e) {
+                System.err.println("Error prefetching scene " + sceneId + ": " + e.getMessage());
+            } finally {
+                pending.remove(sceneId);
+            }
+        });
+    }
+}
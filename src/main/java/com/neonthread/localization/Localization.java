@@ -4,12 +4,16 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class Localization {
     private static Localization instance;
-    private Properties translations;
-    private String currentLanguage;
+    private volatile Properties translations;
+    private volatile String currentLanguage;
+    // Bundles ya leídos: cambiar de idioma no vuelve a tocar disco
+    private final Map<String, Properties> bundles = new ConcurrentHashMap<>();
 
     private Localization() {
         translations = new Properties();
@@ -17,7 +21,7 @@ public class Localization {
         loadLanguage("en");
     }
 
-    public static Localization getInstance() {
+    public static synchronized Localization getInstance() {
         if (instance == null) {
             instance = new Localization();
         }
@@ -26,19 +30,40 @@ public class Localization {
 
     public void loadLanguage(String langCode) {
         this.currentLanguage = langCode;
-        translations.clear();
-        String filename = "config/lang/lang_" + langCode + ".properties";
-        
-        try (InputStreamReader reader = new InputStreamReader(new FileInputStream(filename), StandardCharsets.UTF_8)) {
-            translations.load(reader);
+        Properties bundle = bundles.computeIfAbsent(langCode, this::readBundle);
+        if (bundle != null) {
+            translations = bundle;
+            return;
+        }
+        System.err.println("Could not load language file: " + bundleFile(langCode) + ". Falling back to English.");
+        if (!langCode.equals("en")) {
+            loadLanguage("en");
+        } else {
+            translations = new Properties();
+        }
+    }
+
+    /**
+     * Lee un bundle en la caché sin activarlo (carga en segundo plano al arrancar).
+     */
+    public void preloadLanguage(String langCode) {
+        bundles.computeIfAbsent(langCode, this::readBundle);
+    }
+
+    private Properties readBundle(String langCode) {
+        Properties bundle = new Properties();
+        try (InputStreamReader reader = new InputStreamReader(new FileInputStream(bundleFile(langCode)), StandardCharsets.UTF_8)) {
+            bundle.load(reader);
+            return bundle;
         } catch (IOException e) {
-            System.err.println("Could not load language file: " + filename + ". Falling back to English.");
-            if (!langCode.equals("en")) {
-                loadLanguage("en");
-            }
+            return null;
         }
     }
 
+    private static String bundleFile(String langCode) {
+        return "config/lang/lang_" + langCode + ".properties";
+    }
+
     public static String get(String key) {
         return getInstance().translations.getProperty(key, key);
     }
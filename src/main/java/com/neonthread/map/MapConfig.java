@@ -1,37 +1,66 @@
 package com.neonthread.map;
 
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Objects;
 
-public class MapConfig {
-    private String theme;
-    private Map<String, Point> locations;
+/**
+ * Configuración inmutable del mapa del distrito (tema + posiciones de locaciones).
+ * Al ser inmutable puede publicarse desde el hilo de recarga al EDT sin copias.
+ */
+public final class MapConfig {
+    private final String theme;
+    private final Map<String, Point> locations;
 
     public MapConfig() {
-        this.locations = new HashMap<>();
+        this(null, Collections.emptyMap());
     }
 
-    public String getTheme() {
-        return theme;
+    public MapConfig(String theme, Map<String, Point> locations) {
+        this.theme = theme;
+        this.locations = Collections.unmodifiableMap(new LinkedHashMap<>(locations));
     }
 
-    public void setTheme(String theme) {
-        this.theme = theme;
+    public String getTheme() {
+        return theme;
     }
 
     public Map<String, Point> getLocations() {
         return locations;
     }
 
-    public void addLocation(String name, int x, int y) {
-        locations.put(name, new Point(x, y));
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof MapConfig)) return false;
+        MapConfig other = (MapConfig) o;
+        return Objects.equals(theme, other.theme) && locations.equals(other.locations);
     }
 
-    public static class Point {
-        public int x, y;
+    @Override
+    public int hashCode() {
+        return Objects.hash(theme, locations);
+    }
+
+    public static final class Point {
+        public final int x, y;
         public Point(int x, int y) {
             this.x = x;
             this.y = y;
         }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Point)) return false;
+            Point other = (Point) o;
+            return x == other.x && y == other.y;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * x + y;
+        }
     }
 }
@@ -1,71 +1,195 @@
 package com.neonthread.map;
 
-import java.io.BufferedReader;
+import com.neonthread.loaders.ContentPack;
+import com.neonthread.utils.JsonPullParser;
+import com.neonthread.utils.JsonPullParser.Token;
+
+import javax.swing.SwingUtilities;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
+/**
+ * Carga de map.json con el parser estructurado (KISS).
+ * La configuración se carga una sola vez; los cambios en disco llegan por un
+ * WatchService que recarga y notifica a los listeners en el EDT, así load()
+ * no hace ningún stat en el camino caliente.
+ */
 public class MapConfigLoader {
-    private static MapConfig cachedConfig;
-    private static long lastModified;
     private static final String CONFIG_FILE = "config/map.json";
+    private static final long RELOAD_DEBOUNCE_MS = 100;
 
-    public static MapConfig load() {
-        File file = new File(CONFIG_FILE);
-        if (!file.exists()) return new MapConfig();
+    private static volatile MapConfig cachedConfig;
+    private static final List<Consumer<MapConfig>> listeners = new CopyOnWriteArrayList<>();
+    private static Thread watcherThread;
 
-        if (cachedConfig != null && file.lastModified() == lastModified) {
-            return cachedConfig;
+    public static MapConfig load() {
+        MapConfig config = cachedConfig;
+        if (config == null) {
+            synchronized (MapConfigLoader.class) {
+                if (cachedConfig == null) {
+                    cachedConfig = loadCurrent();
+                }
+                config = cachedConfig;
+            }
         }
+        return config;
+    }
 
-        cachedConfig = parse(file);
-        lastModified = file.lastModified();
-        return cachedConfig;
+    /**
+     * Registra un listener que recibe la nueva configuración (en el EDT) cada vez
+     * que map.json cambia de verdad. Arranca el watcher en el primer registro.
+     */
+    public static void addListener(Consumer<MapConfig> listener) {
+        listeners.add(listener);
+        startWatcher();
     }
 
-    private static MapConfig parse(File file) {
-        MapConfig config = new MapConfig();
-        StringBuilder json = new StringBuilder();
+    public static void removeListener(Consumer<MapConfig> listener) {
+        listeners.remove(listener);
+    }
 
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                json.append(line.trim());
+    /**
+     * Parsea map.json ignorando el pack (usado por el compilador de contenido).
+     */
+    public static MapConfig loadFromJson() {
+        MapConfig config = parse(new File(CONFIG_FILE));
+        return config != null ? config : new MapConfig();
+    }
+
+    private static MapConfig loadCurrent() {
+        ContentPack pack = ContentPack.open();
+        if (pack != null && pack.isFresh(ContentPack.Source.MAP)) {
+            try {
+                return pack.readMap();
+            } catch (Exception e) {
+                System.err.println("Error reading map from content pack: " + e.getMessage());
             }
+        }
+        return loadFromJson();
+    }
+
+    // ==================== HOT RELOAD ====================
+
+    private static synchronized void startWatcher() {
+        if (watcherThread != null) return;
+
+        Path configDir = new File(CONFIG_FILE).getAbsoluteFile().getParentFile().toPath();
+        if (!Files.isDirectory(configDir)) return;
+
+        try {
+            WatchService watchService = FileSystems.getDefault().newWatchService();
+            configDir.register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY);
+            watcherThread = new Thread(() -> watch(watchService), "map-config-watcher");
+            watcherThread.setDaemon(true);
+            watcherThread.start();
         } catch (IOException e) {
-            e.printStackTrace();
-            return config;
+            System.err.println("Map config watcher unavailable: " + e.getMessage());
         }
+    }
 
-        String content = json.toString();
+    private static void watch(WatchService watchService) {
+        String fileName = new File(CONFIG_FILE).getName();
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean mapChanged = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    Object context = event.context();
+                    if (context != null && fileName.equals(context.toString())) {
+                        mapChanged = true;
+                    }
+                }
+                if (!key.reset()) break;
+                if (!mapChanged) continue;
 
-        // Extract theme
-        Pattern themePattern = Pattern.compile("\"theme\"\\s*:\\s*\"([^\"]+)\"");
-        Matcher themeMatcher = themePattern.matcher(content);
-        if (themeMatcher.find()) {
-            config.setTheme(themeMatcher.group(1));
+                // Los editores suelen escribir en varias ráfagas: esperar y descartar eventos repetidos
+                Thread.sleep(RELOAD_DEBOUNCE_MS);
+                WatchKey pendingKey;
+                while ((pendingKey = watchService.poll()) != null) {
+                    pendingKey.pollEvents();
+                    pendingKey.reset();
+                }
+                reload();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Fin del watcher
         }
+    }
+
+    private static void reload() {
+        MapConfig config = parse(new File(CONFIG_FILE));
+        if (config == null || config.equals(cachedConfig)) return;
+
+        cachedConfig = config;
+        SwingUtilities.invokeLater(() -> {
+            for (Consumer<MapConfig> listener : listeners) {
+                listener.accept(config);
+            }
+        });
+    }
+
+    // ==================== PARSING ====================
 
-        // Extract locations block
-        Pattern locationsPattern = Pattern.compile("\"locations\"\\s*:\\s*\\{(.+?)\\}");
-        Matcher locationsMatcher = locationsPattern.matcher(content);
-        if (locationsMatcher.find()) {
-            String locationsBlock = locationsMatcher.group(1);
-            
-            // Extract individual locations: "name": { "x": 123, "y": 456 }
-            Pattern locPattern = Pattern.compile("\"([^\"]+)\"\\s*:\\s*\\{\\s*\"x\"\\s*:\\s*(\\d+)\\s*,\\s*\"y\"\\s*:\\s*(\\d+)\\s*\\}");
-            Matcher locMatcher = locPattern.matcher(locationsBlock);
-            
-            while (locMatcher.find()) {
-                String name = locMatcher.group(1);
-                int x = Integer.parseInt(locMatcher.group(2));
-                int y = Integer.parseInt(locMatcher.group(3));
-                config.addLocation(name, x, y);
+    /**
+     * Devuelve null si el archivo no existe o es inválido (la recarga conserva la configuración anterior).
+     */
+    private static MapConfig parse(File file) {
+        if (!file.exists()) return null;
+
+        String theme = null;
+        Map<String, MapConfig.Point> locations = new LinkedHashMap<>();
+        try (JsonPullParser p = new JsonPullParser(Files.newInputStream(file.toPath()))) {
+            if (p.next() != Token.START_OBJECT) return null;
+            while (p.next() == Token.FIELD_NAME) {
+                String field = p.getText();
+                p.next();
+                switch (field) {
+                    case "theme": theme = p.getStringValue(); break;
+                    case "locations": if (p.acceptObject()) readLocations(p, locations); break;
+                    default: p.skipChildren(); break;
+                }
             }
+        } catch (Exception e) {
+            System.err.println("Error parsing map config: " + e.getMessage());
+            e.printStackTrace();
+            return null;
         }
+        return new MapConfig(theme, locations);
+    }
 
-        return config;
+    private static void readLocations(JsonPullParser p, Map<String, MapConfig.Point> locations) throws IOException {
+        while (p.next() == Token.FIELD_NAME) {
+            String name = p.getText();
+            p.next();
+            if (!p.acceptObject()) continue;
+
+            int x = 0;
+            int y = 0;
+            while (p.next() == Token.FIELD_NAME) {
+                String field = p.getText();
+                p.next();
+                switch (field) {
+                    case "x": x = p.getIntValue(); break;
+                    case "y": y = p.getIntValue(); break;
+                    default: p.skipChildren(); break;
+                }
+            }
+            locations.put(name, new MapConfig.Point(x, y));
+        }
     }
 }
@@ -0,0 +1,232 @@
+package com.neonthread.map;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Índice espacial de grilla uniforme sobre coordenadas de mundo (KISS).
+ *
+ * Inmutable: se arma una vez con {@link Builder} cuando cambian las posiciones y después
+ * solo se consulta. Los elementos de cada celda quedan contiguos en un array (formato CSR)
+ * y en orden de inserción, así que las consultas devuelven lo mismo que un recorrido
+ * lineal de la lista original, pero mirando solo las celdas cercanas al punto.
+ */
+public final class SpatialGrid<T> {
+    private static final int MAX_CELLS_PER_ITEM = 4; // Acota la grilla si los puntos están muy dispersos
+
+    private final Object[] items;
+    private final int[] xs;
+    private final int[] ys;
+    private final int cellSize;
+    private final int minX;
+    private final int minY;
+    private final int cols;
+    private final int rows;
+    private final int[] cellStart; // Celda c: cellItems[cellStart[c] .. cellStart[c + 1])
+    private final int[] cellItems;
+
+    /**
+     * Prueba de impacto contra la posición de un elemento.
+     */
+    @FunctionalInterface
+    public interface HitTest {
+        boolean hits(int itemX, int itemY);
+    }
+
+    private SpatialGrid(Object[] items, int[] xs, int[] ys, int requestedCellSize) {
+        this.items = items;
+        this.xs = xs;
+        this.ys = ys;
+
+        int n = items.length;
+        int lowX = 0, lowY = 0, highX = 0, highY = 0;
+        for (int i = 0; i < n; i++) {
+            if (i == 0 || xs[i] < lowX) lowX = xs[i];
+            if (i == 0 || ys[i] < lowY) lowY = ys[i];
+            if (i == 0 || xs[i] > highX) highX = xs[i];
+            if (i == 0 || ys[i] > highY) highY = ys[i];
+        }
+
+        int size = Math.max(1, requestedCellSize);
+        long maxCells = Math.max(16, (long) n * MAX_CELLS_PER_ITEM);
+        while (cellsFor(highX - lowX, highY - lowY, size) > maxCells) {
+            size *= 2;
+        }
+        this.cellSize = size;
+        this.minX = lowX;
+        this.minY = lowY;
+        this.cols = (highX - lowX) / size + 1;
+        this.rows = (highY - lowY) / size + 1;
+
+        // Conteo + prefijos: cada celda queda contigua y en orden de inserción
+        this.cellStart = new int[cols * rows + 1];
+        int[] cellOf = new int[n];
+        for (int i = 0; i < n; i++) {
+            cellOf[i] = (ys[i] - minY) / size * cols + (xs[i] - minX) / size;
+            cellStart[cellOf[i] + 1]++;
+        }
+        for (int c = 0; c < cols * rows; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        this.cellItems = new int[n];
+        int[] fill = Arrays.copyOf(cellStart, cols * rows);
+        for (int i = 0; i < n; i++) {
+            cellItems[fill[cellOf[i]]++] = i;
+        }
+    }
+
+    private static long cellsFor(int spanX, int spanY, int size) {
+        return ((long) spanX / size + 1) * ((long) spanY / size + 1);
+    }
+
+    public int size() {
+        return items.length;
+    }
+
+    /**
+     * Primer elemento (en orden de inserción) a distancia de a lo sumo {@code radius} en
+     * cada eje que además pasa {@code test}, o null.
+     */
+    @SuppressWarnings("unchecked")
+    public T findFirst(int x, int y, int radius, HitTest test) {
+        if (items.length == 0) return null;
+
+        int colFrom = clampCol(x - radius);
+        int colTo = clampCol(x + radius);
+        int rowFrom = clampRow(y - radius);
+        int rowTo = clampRow(y + radius);
+
+        int best = Integer.MAX_VALUE;
+        for (int row = rowFrom; row <= rowTo; row++) {
+            for (int col = colFrom; col <= colTo; col++) {
+                int cell = row * cols + col;
+                for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                    int item = cellItems[k];
+                    if (item >= best) break; // La celda está en orden de inserción
+                    if (test.hits(xs[item], ys[item])) {
+                        best = item;
+                    }
+                }
+            }
+        }
+        return best == Integer.MAX_VALUE ? null : (T) items[best];
+    }
+
+    /**
+     * Los {@code k} elementos más cercanos a (x, y), del más cercano al más lejano; a igual
+     * distancia gana el insertado primero. Recorre anillos de celdas desde la del punto y
+     * corta cuando ningún anillo siguiente puede mejorar el resultado.
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> nearest(double x, double y, int k) {
+        int count = Math.min(k, items.length);
+        List<T> result = new ArrayList<>(Math.max(count, 0));
+        if (count <= 0) return result;
+
+        int[] bestItems = new int[count];
+        double[] bestDistances = new double[count];
+        int found = 0;
+
+        int centerCol = clampCol((int) Math.floor(x));
+        int centerRow = clampRow((int) Math.floor(y));
+        int maxRing = Math.max(Math.max(centerCol, cols - 1 - centerCol), Math.max(centerRow, rows - 1 - centerRow));
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            for (int row = centerRow - ring; row <= centerRow + ring; row++) {
+                if (row < 0 || row >= rows) continue;
+                boolean edgeRow = row == centerRow - ring || row == centerRow + ring;
+                int step = edgeRow ? 1 : Math.max(1, 2 * ring);
+                for (int col = centerCol - ring; col <= centerCol + ring; col += step) {
+                    if (col < 0 || col >= cols) continue;
+                    int cell = row * cols + col;
+                    for (int p = cellStart[cell]; p < cellStart[cell + 1]; p++) {
+                        int item = cellItems[p];
+                        double dx = x - xs[item];
+                        double dy = y - ys[item];
+                        found = offer(bestItems, bestDistances, found, item, dx * dx + dy * dy);
+                    }
+                }
+            }
+
+            // Distancia mínima de (x, y) a cualquier celda fuera de los anillos ya vistos
+            double left = x - (minX + (double) (centerCol - ring) * cellSize);
+            double right = minX + (double) (centerCol + ring + 1) * cellSize - x;
+            double top = y - (minY + (double) (centerRow - ring) * cellSize);
+            double bottom = minY + (double) (centerRow + ring + 1) * cellSize - y;
+            double bound = Math.min(Math.min(left, right), Math.min(top, bottom));
+            if (found == count && bound > 0 && bestDistances[count - 1] < bound * bound) break;
+        }
+
+        for (int i = 0; i < found; i++) {
+            result.add((T) items[bestItems[i]]);
+        }
+        return result;
+    }
+
+    /**
+     * Inserta en el top-k ordenado por (distancia, orden de inserción). Devuelve el nuevo tamaño.
+     */
+    private static int offer(int[] bestItems, double[] bestDistances, int found, int item, double distance) {
+        int capacity = bestItems.length;
+        if (found == capacity && !closer(distance, item, bestDistances[capacity - 1], bestItems[capacity - 1])) {
+            return found;
+        }
+        int position = found < capacity ? found : capacity - 1;
+        while (position > 0 && closer(distance, item, bestDistances[position - 1], bestItems[position - 1])) {
+            bestItems[position] = bestItems[position - 1];
+            bestDistances[position] = bestDistances[position - 1];
+            position--;
+        }
+        bestItems[position] = item;
+        bestDistances[position] = distance;
+        return found < capacity ? found + 1 : found;
+    }
+
+    private static boolean closer(double distance, int item, double otherDistance, int otherItem) {
+        return distance < otherDistance || (distance == otherDistance && item < otherItem);
+    }
+
+    private int clampCol(int x) {
+        return Math.max(0, Math.min(cols - 1, floorDiv(x - minX)));
+    }
+
+    private int clampRow(int y) {
+        return Math.max(0, Math.min(rows - 1, floorDiv(y - minY)));
+    }
+
+    private int floorDiv(int offset) {
+        return Math.floorDiv(offset, cellSize);
+    }
+
+    /**
+     * Acumula elementos con su posición; {@link #build} arma la grilla.
+     */
+    public static final class Builder<T> {
+        private final int cellSize;
+        private final List<T> items = new ArrayList<>();
+        private int[] xs = new int[16];
+        private int[] ys = new int[16];
+
+        public Builder(int cellSize) {
+            this.cellSize = cellSize;
+        }
+
+        public Builder<T> add(T item, int x, int y) {
+            int index = items.size();
+            if (index == xs.length) {
+                xs = Arrays.copyOf(xs, index * 2);
+                ys = Arrays.copyOf(ys, index * 2);
+            }
+            items.add(item);
+            xs[index] = x;
+            ys[index] = y;
+            return this;
+        }
+
+        public SpatialGrid<T> build() {
+            int n = items.size();
+            return new SpatialGrid<>(items.toArray(), Arrays.copyOf(xs, n), Arrays.copyOf(ys, n), cellSize);
+        }
+    }
+}
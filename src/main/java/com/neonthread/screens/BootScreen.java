@@ -4,6 +4,7 @@ import com.neonthread.GameConstants;
 import com.neonthread.GameState;
 import com.neonthread.TypewriterEffect;
 import com.neonthread.GlitchEffect;
+import com.neonthread.ui.FrameScheduler;
 
 import javax.swing.*;
 import java.awt.*;
@@ -63,17 +64,11 @@ public class BootScreen extends JPanel {
     private void showNextLine() {
         if (lineIndex >= bootLines.length) {
             // Esperar 1s y pasar al logo
-            Timer delay = new Timer(1000, e -> {
-                ((Timer)e.getSource()).stop();
-                onComplete.accept(GameState.STATE_LOGO_GLITCH);
-            });
-            delay.setRepeats(false);
-            delay.start();
+            FrameScheduler.getInstance().after(this, 1000, () -> onComplete.accept(GameState.STATE_LOGO_GLITCH));
             return;
         }
         
         String line = bootLines[lineIndex];
-        String currentText = textArea.getText();
         
         // Color especial para warnings y errores
         if (line.contains("[WARNING]") || line.contains("[FAILED]")) {
@@ -84,20 +79,16 @@ public class BootScreen extends JPanel {
             textArea.setForeground(GameConstants.COLOR_CYAN_NEON);
         }
         
-        currentEffect = new TypewriterEffect(
+        currentEffect = TypewriterEffect.appending(
+            this,
             line + "\n",
-            text -> textArea.setText(currentText + text),
+            textArea::append,
             () -> {
                 lineIndex++;
                 // Pausa variable según el tipo de línea
                 int pauseDuration = line.isEmpty() ? 100 : 
                                    (line.contains("RETRYING") ? 500 : 200);
-                Timer pause = new Timer(pauseDuration, e -> {
-                    ((Timer)e.getSource()).stop();
-                    showNextLine();
-                });
-                pause.setRepeats(false);
-                pause.start();
+                FrameScheduler.getInstance().after(this, pauseDuration, this::showNextLine);
             }
         );
         currentEffect.start();
@@ -107,5 +98,6 @@ public class BootScreen extends JPanel {
         if (currentEffect != null) {
             currentEffect.stop();
         }
+        FrameScheduler.getInstance().cancel(this);
     }
 }
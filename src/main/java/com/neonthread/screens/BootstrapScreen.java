@@ -2,6 +2,7 @@ package com.neonthread.screens;
 
 import com.neonthread.GameConstants;
 import com.neonthread.GameState;
+import com.neonthread.ui.FrameScheduler;
 
 import javax.swing.*;
 import java.awt.*;
@@ -12,11 +13,12 @@ import java.util.function.Consumer;
  * Usa State pattern para manejar transiciones visuales.
  */
 public class BootstrapScreen extends JPanel {
+    private static final int FADE_DURATION_MS = 667;
+    
     private final Consumer<GameState> onComplete;
     private final JLabel signalLabel;
     private final JLabel connectingLabel;
     private float alpha = 0.0f;
-    private Timer fadeTimer;
     
     public BootstrapScreen(Consumer<GameState> onComplete) {
         this.onComplete = onComplete;
@@ -43,60 +45,47 @@ public class BootstrapScreen extends JPanel {
     }
     
     public void startSequence() {
+        cleanup();
         alpha = 0.0f;
         signalLabel.setVisible(true);
         connectingLabel.setVisible(false);
         
-        // Fade-in del texto "NO SIGNAL"
-        fadeTimer = new Timer(20, e -> {
-            alpha += 0.03f;
-            if (alpha >= 1.0f) {
-                alpha = 1.0f;
-                fadeTimer.stop();
-                // Después del fade, esperar 600ms y mostrar "Attempting connection"
-                Timer waitTimer = new Timer(600, ev -> {
-                    ((Timer)ev.getSource()).stop();
-                    showFlashAndConnect();
-                });
-                waitTimer.setRepeats(false);
-                waitTimer.start();
-            }
+        // Fade-in del texto "NO SIGNAL" por tiempo transcurrido: dura lo mismo a cualquier fps
+        FrameScheduler scheduler = FrameScheduler.getInstance();
+        scheduler.animate(this, elapsed -> {
+            alpha = Math.min(1.0f, elapsed / (float) FADE_DURATION_MS);
             updateAlpha();
+            if (alpha < 1.0f) return true;
+            // Después del fade, esperar 600ms y mostrar "Attempting connection"
+            scheduler.after(this, 600, this::showFlashAndConnect);
+            return false;
         });
-        fadeTimer.start();
     }
     
     private void updateAlpha() {
         int grayValue = (int)(0x40 * alpha);
         signalLabel.setForeground(new Color(grayValue, grayValue, grayValue));
-        repaint();
+        FrameScheduler.getInstance().requestRepaint(this);
     }
     
     private void showFlashAndConnect() {
         // Flash blanco de 50ms
         setBackground(GameConstants.COLOR_WHITE_FLASH);
         
-        Timer flashTimer = new Timer(GameConstants.FLASH_DURATION_MS, e -> {
-            ((Timer)e.getSource()).stop();
+        FrameScheduler scheduler = FrameScheduler.getInstance();
+        scheduler.after(this, GameConstants.FLASH_DURATION_MS, () -> {
             setBackground(GameConstants.COLOR_BACKGROUND);
             connectingLabel.setVisible(true);
             
             // Después de 800ms, pasar al boot
-            Timer transitionTimer = new Timer(800, ev -> {
-                ((Timer)ev.getSource()).stop();
+            scheduler.after(this, 800, () -> {
                 cleanup();
                 onComplete.accept(GameState.STATE_BOOT);
             });
-            transitionTimer.setRepeats(false);
-            transitionTimer.start();
         });
-        flashTimer.setRepeats(false);
-        flashTimer.start();
     }
     
     public void cleanup() {
-        if (fadeTimer != null) {
-            fadeTimer.stop();
-        }
+        FrameScheduler.getInstance().cancel(this);
     }
 }
@@ -1,7 +1,10 @@
 package com.neonthread.screens;
 
 import com.neonthread.*;
+import com.neonthread.map.SpatialGrid;
 import com.neonthread.ui.CyberpunkButton;
+import com.neonthread.ui.FrameScheduler;
+import com.neonthread.ui.RenderCache;
 
 import javax.swing.*;
 import java.awt.*;
@@ -11,9 +14,12 @@ import java.awt.event.MouseEvent;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.NoninvertibleTransformException;
 import java.awt.geom.Point2D;
+import java.awt.image.BufferedImage;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.Random;
 import java.util.function.Consumer;
@@ -42,6 +48,10 @@ public class DistrictMapScreen extends JPanel {
     private boolean showTooltips = true;
     private boolean enteredDistrictOnce = false;
 
+    private static final int LOG_PAGE_SIZE = 200; // Entradas por página del visor de logs
+
+    private final RenderCache renderCache = RenderCache.getInstance();
+
     // Bottom bar live components
     private JLabel timeLabel;
     private JLabel notifLabel;
@@ -155,7 +165,7 @@ public class DistrictMapScreen extends JPanel {
         panel.setOpaque(false);
 
         JLabel title = new JLabel(t("district.history"));
-        title.setFont(new Font(GameConstants.FONT_FAMILY, Font.BOLD, 12));
+        title.setFont(renderCache.font(GameConstants.FONT_FAMILY, Font.BOLD, 12));
         title.setForeground(GameConstants.COLOR_TEXT_SECONDARY);
         panel.add(title, BorderLayout.NORTH);
 
@@ -163,7 +173,7 @@ public class DistrictMapScreen extends JPanel {
         historyArea.setEditable(false);
         historyArea.setLineWrap(true);
         historyArea.setWrapStyleWord(true);
-        historyArea.setFont(GameConstants.FONT_TEXT.deriveFont(12f));
+        historyArea.setFont(renderCache.derive(GameConstants.FONT_TEXT, 12f));
         historyArea.setForeground(GameConstants.COLOR_TEXT_PRIMARY);
         historyArea.setBackground(new Color(0x0A0F1B));
         historyArea.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
@@ -185,7 +195,7 @@ public class DistrictMapScreen extends JPanel {
         JPanel header = new JPanel(new BorderLayout());
         header.setOpaque(false);
         contextTitle = new JLabel(t("district.context"));
-        contextTitle.setFont(new Font(GameConstants.FONT_FAMILY, Font.BOLD, 12));
+        contextTitle.setFont(renderCache.font(GameConstants.FONT_FAMILY, Font.BOLD, 12));
         contextTitle.setForeground(GameConstants.COLOR_TEXT_SECONDARY);
         header.add(contextTitle, BorderLayout.NORTH);
         panel.add(header, BorderLayout.NORTH);
@@ -194,7 +204,7 @@ public class DistrictMapScreen extends JPanel {
         contextBody.setEditable(false);
         contextBody.setLineWrap(true);
         contextBody.setWrapStyleWord(true);
-        contextBody.setFont(GameConstants.FONT_TEXT.deriveFont(12f));
+        contextBody.setFont(renderCache.derive(GameConstants.FONT_TEXT, 12f));
         contextBody.setForeground(GameConstants.COLOR_TEXT_PRIMARY);
         contextBody.setBackground(new Color(0x0A0F1B));
         contextBody.setBorder(BorderFactory.createCompoundBorder(
@@ -274,7 +284,7 @@ public class DistrictMapScreen extends JPanel {
         notifLabel.setHorizontalAlignment(SwingConstants.CENTER);
 
         districtLabel = new JLabel();
-        districtLabel.setFont(new Font(GameConstants.FONT_FAMILY, Font.BOLD, 12));
+        districtLabel.setFont(renderCache.font(GameConstants.FONT_FAMILY, Font.BOLD, 12));
         districtLabel.setForeground(GameConstants.COLOR_TEXT_PRIMARY);
         districtLabel.setHorizontalAlignment(SwingConstants.RIGHT);
 
@@ -288,7 +298,7 @@ public class DistrictMapScreen extends JPanel {
 
     private JLabel createBottomIcon(String text) {
         JLabel label = new JLabel(text);
-        label.setFont(new Font(GameConstants.FONT_FAMILY, Font.BOLD, 14));
+        label.setFont(renderCache.font(GameConstants.FONT_FAMILY, Font.BOLD, 14));
         label.setForeground(GameConstants.COLOR_TEXT_SECONDARY);
         label.setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
         return label;
@@ -314,8 +324,8 @@ public class DistrictMapScreen extends JPanel {
             @Override
             public void mouseClicked(MouseEvent e) {
                 GameLog log = session.getGameLog();
-                String message = (log != null && !log.getEntries().isEmpty())
-                    ? log.getRecentEntries(1).get(0).getMessage()
+                String message = (log != null && !log.isEmpty())
+                    ? log.getLatestMessage()
                     : "No alerts";
 
                 JPopupMenu menu = new JPopupMenu();
@@ -348,7 +358,12 @@ public class DistrictMapScreen extends JPanel {
     public void refresh() {
         if (!enteredDistrictOnce) {
             enteredDistrictOnce = true;
-            applyDistrictMapConfig();
+            applyDistrictMapConfig(com.neonthread.map.MapConfigLoader.load());
+            // Hot reload: el watcher empuja la nueva configuración solo cuando map.json cambia
+            com.neonthread.map.MapConfigLoader.addListener(config -> {
+                applyDistrictMapConfig(config);
+                mapPanel.refresh();
+            });
             maybeTriggerDistrictEvent();
         }
 
@@ -389,8 +404,9 @@ public class DistrictMapScreen extends JPanel {
         }
 
         StringBuilder sb = new StringBuilder();
-        for (GameLog.LogEntry entry : log.getRecentEntries(12)) {
-            sb.append("• ").append(entry.getMessage()).append("\n");
+        GameLog.View recent = log.recent(12);
+        for (int i = 0; i < recent.size(); i++) {
+            sb.append("• ").append(recent.getMessage(i)).append("\n");
         }
         historyArea.setText(sb.toString());
         historyArea.setCaretPosition(Math.max(0, historyArea.getDocument().getLength()));
@@ -410,12 +426,12 @@ public class DistrictMapScreen extends JPanel {
         if (character == null) return;
 
         // Header
-        addStatLabel(statsPanel, t("hud.operator"), GameConstants.FONT_TITLE.deriveFont(20f), getAccentColor(), t("hud.operator.tip"));
+        addStatLabel(statsPanel, t("hud.operator"), renderCache.derive(GameConstants.FONT_TITLE, 20f), getAccentColor(), t("hud.operator.tip"));
         statsPanel.add(Box.createVerticalStrut(10));
 
         // Sub-header
-        addStatLabel(statsPanel, character.getName(), GameConstants.FONT_MENU.deriveFont(18f), GameConstants.COLOR_TEXT_PRIMARY, null);
-        addStatLabel(statsPanel, character.getRole().getDisplayName(), GameConstants.FONT_TEXT.deriveFont(12f), GameConstants.COLOR_TEXT_SECONDARY, null);
+        addStatLabel(statsPanel, character.getName(), renderCache.derive(GameConstants.FONT_MENU, 18f), GameConstants.COLOR_TEXT_PRIMARY, null);
+        addStatLabel(statsPanel, character.getRole().getDisplayName(), renderCache.derive(GameConstants.FONT_TEXT, 12f), GameConstants.COLOR_TEXT_SECONDARY, null);
         statsPanel.add(Box.createVerticalStrut(15));
 
         // Category 1: Physical
@@ -513,7 +529,7 @@ public class DistrictMapScreen extends JPanel {
 
     private void addCategoryHeader(JPanel panel, String title) {
         JLabel label = new JLabel(title);
-        label.setFont(new Font(GameConstants.FONT_FAMILY, Font.BOLD, 12));
+        label.setFont(renderCache.font(GameConstants.FONT_FAMILY, Font.BOLD, 12));
         label.setForeground(GameConstants.COLOR_TEXT_SECONDARY);
         label.setAlignmentX(Component.LEFT_ALIGNMENT);
         panel.add(label);
@@ -526,14 +542,14 @@ public class DistrictMapScreen extends JPanel {
         row.setMaximumSize(new Dimension(220, 18));
 
         JLabel left = new JLabel(label);
-        left.setFont(GameConstants.FONT_TEXT.deriveFont(12f));
+        left.setFont(renderCache.derive(GameConstants.FONT_TEXT, 12f));
         left.setForeground(GameConstants.COLOR_TEXT_PRIMARY);
         if (tooltip != null && !tooltip.isBlank()) {
             left.setToolTipText(tooltip);
         }
 
         JLabel right = new JLabel(value);
-        right.setFont(GameConstants.FONT_TEXT.deriveFont(12f));
+        right.setFont(renderCache.derive(GameConstants.FONT_TEXT, 12f));
         right.setForeground(GameConstants.COLOR_TEXT_PRIMARY);
         if (tooltip != null && !tooltip.isBlank()) {
             right.setToolTipText(tooltip);
@@ -552,7 +568,7 @@ public class DistrictMapScreen extends JPanel {
      */
     private void addStatBar(JPanel panel, String name, int value, Color barColor, String tooltip) {
         JLabel nameLabel = new JLabel(name + ": " + value + "%");
-        nameLabel.setFont(GameConstants.FONT_TEXT.deriveFont(12f));
+        nameLabel.setFont(renderCache.derive(GameConstants.FONT_TEXT, 12f));
         nameLabel.setForeground(GameConstants.COLOR_TEXT_PRIMARY);
         nameLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
         if (tooltip != null && !tooltip.isBlank()) {
@@ -579,7 +595,7 @@ public class DistrictMapScreen extends JPanel {
         int r = (int) Math.round(base.getRed() * factor);
         int g = (int) Math.round(base.getGreen() * factor);
         int b = (int) Math.round(base.getBlue() * factor);
-        return new Color(Math.min(255, r), Math.min(255, g), Math.min(255, b));
+        return renderCache.rgb(r, g, b);
     }
     
     /**
@@ -587,8 +603,8 @@ public class DistrictMapScreen extends JPanel {
      */
     private String getLatestNotification() {
         GameLog log = session.getGameLog();
-        if (log != null && !log.getEntries().isEmpty()) {
-            return log.getRecentEntries(1).get(0).getMessage();
+        if (log != null && !log.isEmpty()) {
+            return log.getLatestMessage();
         }
         return null;
     }
@@ -600,12 +616,7 @@ public class DistrictMapScreen extends JPanel {
         GameLog log = session.getGameLog();
         if (log == null) return;
         
-        StringBuilder sb = new StringBuilder();
-        for (GameLog.LogEntry entry : log.getRecentEntries(20)) {
-            sb.append(entry.getMessage()).append("\n");
-        }
-        
-        JTextArea textArea = new JTextArea(sb.toString());
+        JTextArea textArea = new JTextArea();
         textArea.setEditable(false);
         textArea.setFont(GameConstants.FONT_TEXT);
         textArea.setForeground(GameConstants.COLOR_TEXT_PRIMARY);
@@ -614,7 +625,55 @@ public class DistrictMapScreen extends JPanel {
         JScrollPane scrollPane = new JScrollPane(textArea);
         scrollPane.setPreferredSize(new Dimension(400, 300));
         
-        JOptionPane.showMessageDialog(this, scrollPane, "System Logs", JOptionPane.PLAIN_MESSAGE);
+        GameJournal journal = log.getJournal();
+        if (journal == null) {
+            StringBuilder sb = new StringBuilder();
+            GameLog.View recent = log.recent(20);
+            for (int i = 0; i < recent.size(); i++) {
+                sb.append(recent.getMessage(i)).append("\n");
+            }
+            textArea.setText(sb.toString());
+            JOptionPane.showMessageDialog(this, scrollPane, "System Logs", JOptionPane.PLAIN_MESSAGE);
+            return;
+        }
+        
+        // Historial completo paginado desde el journal (solo se lee la página visible)
+        JPanel panel = new JPanel(new BorderLayout(0, 8));
+        panel.setBackground(GameConstants.COLOR_PANEL);
+        JLabel pageLabel = new JLabel();
+        pageLabel.setForeground(GameConstants.COLOR_TEXT_SECONDARY);
+        CyberpunkButton olderBtn = new CyberpunkButton("< OLDER");
+        CyberpunkButton newerBtn = new CyberpunkButton("NEWER >");
+        
+        long[] pageStart = { Math.max(journal.getFirstEntry(), journal.getEntryCount() - LOG_PAGE_SIZE) };
+        Runnable showPage = () -> {
+            long first = journal.getFirstEntry();
+            long total = journal.getEntryCount();
+            pageStart[0] = Math.max(first, Math.min(pageStart[0], total - LOG_PAGE_SIZE));
+            StringBuilder sb = new StringBuilder();
+            for (GameLog.LogEntry entry : journal.readPage(pageStart[0], LOG_PAGE_SIZE)) {
+                sb.append(entry.getMessage()).append("\n");
+            }
+            textArea.setText(sb.toString());
+            textArea.setCaretPosition(textArea.getDocument().getLength());
+            pageLabel.setText((pageStart[0] - first + 1) + "-" + Math.min(total - first, pageStart[0] - first + LOG_PAGE_SIZE)
+                + " / " + (total - first));
+            olderBtn.setEnabled(pageStart[0] > first);
+            newerBtn.setEnabled(pageStart[0] + LOG_PAGE_SIZE < total);
+        };
+        olderBtn.addActionListener(e -> { pageStart[0] -= LOG_PAGE_SIZE; showPage.run(); });
+        newerBtn.addActionListener(e -> { pageStart[0] += LOG_PAGE_SIZE; showPage.run(); });
+        
+        JPanel nav = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 0));
+        nav.setOpaque(false);
+        nav.add(olderBtn);
+        nav.add(pageLabel);
+        nav.add(newerBtn);
+        panel.add(scrollPane, BorderLayout.CENTER);
+        panel.add(nav, BorderLayout.SOUTH);
+        showPage.run();
+        
+        JOptionPane.showMessageDialog(this, panel, "System Logs", JOptionPane.PLAIN_MESSAGE);
     }
 
     private String t(String key) {
@@ -658,21 +717,16 @@ public class DistrictMapScreen extends JPanel {
         notifLabel.setBorder(BorderFactory.createLineBorder(getAccentColor().darker(), 1));
         notifLabel.setText(message);
 
-        Timer timer = new Timer(2500, e -> {
-            ((Timer) e.getSource()).stop();
+        FrameScheduler.getInstance().after(this, 2500, () -> {
             notifLabel.setOpaque(false);
             notifLabel.setBorder(null);
             refreshBottomBarOnly();
         });
-        timer.setRepeats(false);
-        timer.start();
     }
 
-    private void applyDistrictMapConfig() {
+    private void applyDistrictMapConfig(com.neonthread.map.MapConfig config) {
         District district = session.getDistrict();
         if (district == null) return;
-
-        com.neonthread.map.MapConfig config = com.neonthread.map.MapConfigLoader.load();
         
         // Apply theme if needed (not implemented in District yet, but ready)
         // String theme = config.getTheme();
@@ -747,6 +801,36 @@ public class DistrictMapScreen extends JPanel {
 
         private static final int HOVER_DELAY_MS = 300;
 
+        private static final Color GRID_STREET = new Color(31, 199, 208, 100);
+        private static final Color GRID_BLOCK = new Color(0x403058);
+        private static final Color GRID_BLOCK_EDGE = new Color(31, 199, 208, 80);
+        private static final Color MISSION_GOLD = new Color(255, 215, 0);
+        private static final Color MISSION_CYAN = new Color(31, 199, 208);
+        private static final Color MISSION_RED = new Color(255, 50, 50);
+        private static final Color MISSION_GRAY = new Color(200, 200, 200);
+
+        // Capa estática (calles y bloques) pre-renderizada; se rehace solo si cambia la clave
+        private BufferedImage staticLayer;
+        private int staticLayerWidth;
+        private int staticLayerHeight;
+        private double staticLayerZoom;
+        private double staticLayerScale;
+        private String staticLayerTheme;
+
+        // Índices espaciales para hit-testing; se rearman solo si cambian las posiciones
+        private static final int HIT_CELL_SIZE = 64;
+        private static final int LOCATION_HIT_RADIUS = 28;
+        private static final int MISSION_HIT_RADIUS = 36;
+        private SpatialGrid<District.Location> locationGrid;
+        private SpatialGrid<Mission> missionGrid;
+        private final Map<Mission, Point> missionPositions = new IdentityHashMap<>();
+        private boolean layoutDirty = true;
+        private District layoutDistrict;
+        private java.util.List<Mission> layoutMissions;
+        private int layoutWidth;
+        private int layoutHeight;
+        private byte[] layoutState = new byte[0]; // Desbloqueo de cada location + estado de cada misión
+
         public DistrictMapPanel() {
             setBackground(new Color(0x0A0A0F));
             setLayout(null);
@@ -773,6 +857,7 @@ public class DistrictMapScreen extends JPanel {
         }
 
         public void refresh() {
+            layoutDirty = true;
             syncMissionVisualState();
             repaint();
         }
@@ -794,19 +879,8 @@ public class DistrictMapScreen extends JPanel {
             if (district == null) return;
 
             Point2D worldCursor = toWorld(lastMouseX, lastMouseY);
-            Mission nearest = null;
-            double best = Double.MAX_VALUE;
-
-            for (Mission m : getRenderableMissions(district)) {
-                Point2D pos = getMissionWorldPosition(district, m);
-                double dx = worldCursor.getX() - pos.getX();
-                double dy = worldCursor.getY() - pos.getY();
-                double d = dx * dx + dy * dy;
-                if (d < best) {
-                    best = d;
-                    nearest = m;
-                }
-            }
+            java.util.List<Mission> candidates = ensureLayout(district).missionGrid.nearest(worldCursor.getX(), worldCursor.getY(), 1);
+            Mission nearest = candidates.isEmpty() ? null : candidates.get(0);
 
             if (nearest != null) {
                 selectedMission = nearest;
@@ -831,13 +905,15 @@ public class DistrictMapScreen extends JPanel {
         @Override
         protected void paintComponent(Graphics g) {
             super.paintComponent(g);
+            renderCache.beginFrame();
             Graphics2D g2d = (Graphics2D) g;
             g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
+            drawStaticLayer(g2d);
+
             AffineTransform oldTx = g2d.getTransform();
             g2d.transform(getMapTransform());
 
-            drawDistrictGrid(g2d);
             drawLocations(g2d);
 
             g2d.setTransform(oldTx);
@@ -869,6 +945,51 @@ public class DistrictMapScreen extends JPanel {
             return out;
         }
         
+        /**
+         * Copia la capa estática cacheada. Se vuelve a renderizar solo al cambiar tamaño,
+         * zoom, escala del dispositivo (HiDPI) o tema; el hover solo repinta lo dinámico.
+         */
+        private void drawStaticLayer(Graphics2D g2d) {
+            int width = getWidth();
+            int height = getHeight();
+            if (width <= 0 || height <= 0) return;
+
+            double deviceScale = g2d.getTransform().getScaleX();
+            String theme = settings.getTheme();
+            if (staticLayer == null
+                || width != staticLayerWidth || height != staticLayerHeight
+                || zoom != staticLayerZoom || deviceScale != staticLayerScale
+                || !Objects.equals(theme, staticLayerTheme)) {
+                staticLayer = renderStaticLayer(width, height, deviceScale);
+                staticLayerWidth = width;
+                staticLayerHeight = height;
+                staticLayerZoom = zoom;
+                staticLayerScale = deviceScale;
+                staticLayerTheme = theme;
+            }
+            g2d.drawImage(staticLayer, 0, 0, width, height, null);
+        }
+
+        private BufferedImage renderStaticLayer(int width, int height, double deviceScale) {
+            int imageWidth = (int) Math.ceil(width * deviceScale);
+            int imageHeight = (int) Math.ceil(height * deviceScale);
+            GraphicsConfiguration config = getGraphicsConfiguration();
+            BufferedImage image = config != null
+                ? config.createCompatibleImage(imageWidth, imageHeight, Transparency.TRANSLUCENT)
+                : new BufferedImage(imageWidth, imageHeight, BufferedImage.TYPE_INT_ARGB_PRE);
+
+            Graphics2D g2d = image.createGraphics();
+            try {
+                g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                g2d.scale(deviceScale, deviceScale);
+                g2d.transform(getMapTransform());
+                drawDistrictGrid(g2d);
+            } finally {
+                g2d.dispose();
+            }
+            return image;
+        }
+
         /**
          * Dibuja el grid geométrico del distrito (KISS).
          */
@@ -877,8 +998,8 @@ public class DistrictMapScreen extends JPanel {
             int height = getHeight();
             
             // Líneas de calles (cian suave)
-            g2d.setColor(new Color(31, 199, 208, 100));
-            g2d.setStroke(new BasicStroke(1));
+            g2d.setColor(GRID_STREET);
+            g2d.setStroke(renderCache.stroke(1));
             
             // Calles verticales
             for (int i = 100; i < width; i += 150) {
@@ -891,13 +1012,12 @@ public class DistrictMapScreen extends JPanel {
             }
             
             // Bloques de edificios (púrpura oscuro)
-            g2d.setColor(new Color(0x403058));
             for (int x = 120; x < width - 120; x += 150) {
                 for (int y = 120; y < height - 120; y += 120) {
+                    g2d.setColor(GRID_BLOCK);
                     g2d.fillRect(x, y, 120, 90);
-                    g2d.setColor(new Color(31, 199, 208, 80));
+                    g2d.setColor(GRID_BLOCK_EDGE);
                     g2d.drawRect(x, y, 120, 90);
-                    g2d.setColor(new Color(0x403058));
                 }
             }
         }
@@ -926,6 +1046,7 @@ public class DistrictMapScreen extends JPanel {
                 // Actualizar posición en la locación
                 if (location.getX() == 0) {
                     location.setPosition(x, y);
+                    layoutDirty = true;
                 }
                 
                 drawLocationIcon(g2d, location, x, y);
@@ -966,11 +1087,11 @@ public class DistrictMapScreen extends JPanel {
             
             // Glow si está en hover
             if (isHovered) {
-                g2d.setColor(new Color(getAccentColor().getRed(), getAccentColor().getGreen(), getAccentColor().getBlue(), 80));
+                g2d.setColor(renderCache.alpha(getAccentColor(), 80));
                 g2d.fillOval(x - 24, y - 24, 48, 48);
             }
             if (isSelected) {
-                g2d.setColor(new Color(getAccentColor().getRed(), getAccentColor().getGreen(), getAccentColor().getBlue(), 60));
+                g2d.setColor(renderCache.alpha(getAccentColor(), 60));
                 g2d.fillOval(x - 22, y - 22, 44, 44);
             }
             
@@ -980,11 +1101,11 @@ public class DistrictMapScreen extends JPanel {
             
             // Borde
             g2d.setColor(GameConstants.COLOR_CYAN_NEON);
-            g2d.setStroke(new BasicStroke(2));
+            g2d.setStroke(renderCache.stroke(2));
             g2d.drawOval(x - 18, y - 18, 36, 36);
             
             // Icono
-            g2d.setFont(new Font(GameConstants.FONT_FAMILY, Font.BOLD, 24));
+            g2d.setFont(renderCache.font(GameConstants.FONT_FAMILY, Font.BOLD, 24));
             FontMetrics fm = g2d.getFontMetrics();
             int iconWidth = fm.stringWidth(icon);
             g2d.drawString(icon, x - iconWidth / 2, y + 8);
@@ -993,7 +1114,7 @@ public class DistrictMapScreen extends JPanel {
             if (location.getType() == District.LocationType.MISSION) {
                 Mission top = getTopAvailableMission();
                 if (top != null) {
-                    g2d.setFont(new Font(GameConstants.FONT_FAMILY, Font.BOLD, 14));
+                    g2d.setFont(renderCache.font(GameConstants.FONT_FAMILY, Font.BOLD, 14));
                     g2d.setColor(applyBrightness(getMissionColor(top), getPriorityBrightness(top)));
                     g2d.drawString(top.getVisualIcon(), x + 12, y - 8);
                 }
@@ -1058,7 +1179,7 @@ public class DistrictMapScreen extends JPanel {
                 
                 // Dibujar ícono de misión
                 if (isHovered || isSelected) {
-                    g2d.setColor(new Color(brightColor.getRed(), brightColor.getGreen(), brightColor.getBlue(), 80));
+                    g2d.setColor(renderCache.alpha(brightColor, 80));
                     g2d.fillOval(x - 24, y - 24, 48, 48);
                 }
 
@@ -1067,16 +1188,16 @@ public class DistrictMapScreen extends JPanel {
                 g2d.scale(scale, scale);
                 g2d.translate(-x, -y);
 
-                g2d.setColor(new Color(brightColor.getRed(), brightColor.getGreen(), brightColor.getBlue(), alpha));
-                g2d.setFont(new Font(GameConstants.FONT_FAMILY, Font.BOLD, 32));
+                g2d.setColor(renderCache.alpha(brightColor, alpha));
+                g2d.setFont(renderCache.font(GameConstants.FONT_FAMILY, Font.BOLD, 32));
                 g2d.drawString(icon, x - 16, y + 10);
 
                 drawMissionBadge(g2d, mission, x, y);
                 
                 // Indicador de urgencia para misiones críticas
                 if (mission.getUrgency() == Mission.MissionUrgency.CRITICAL) {
-                    g2d.setColor(new Color(255, 50, 50, alpha));
-                    g2d.setStroke(new BasicStroke(2));
+                    g2d.setColor(renderCache.alpha(MISSION_RED, alpha));
+                    g2d.setStroke(renderCache.stroke(2));
                     g2d.drawOval(x - 20, y - 20, 40, 40);
                 }
 
@@ -1112,11 +1233,11 @@ public class DistrictMapScreen extends JPanel {
                     return;
             }
 
-            g2d.setFont(new Font(GameConstants.FONT_FAMILY, Font.BOLD, 12));
-            g2d.setColor(new Color(0, 0, 0, pulseAlpha));
+            g2d.setFont(renderCache.font(GameConstants.FONT_FAMILY, Font.BOLD, 12));
+            g2d.setColor(renderCache.alpha(Color.BLACK, pulseAlpha));
             g2d.fillRoundRect(x + 10, y - 26, 16, 16, 6, 6);
-            g2d.setColor(new Color(color.getRed(), color.getGreen(), color.getBlue(), pulseAlpha));
-            g2d.setStroke(new BasicStroke(borderW));
+            g2d.setColor(renderCache.alpha(color, pulseAlpha));
+            g2d.setStroke(renderCache.stroke(borderW));
             g2d.drawRoundRect(x + 10, y - 26, 16, 16, 6, 6);
             g2d.drawString(text, x + 14, y - 14);
         }
@@ -1136,19 +1257,14 @@ public class DistrictMapScreen extends JPanel {
             int r = (int) Math.round(base.getRed() * f);
             int g = (int) Math.round(base.getGreen() * f);
             int b = (int) Math.round(base.getBlue() * f);
-            return new Color(Math.min(255, r), Math.min(255, g), Math.min(255, b));
+            return renderCache.rgb(r, g, b);
         }
 
         private java.util.List<Mission> getRenderableMissions(District district) {
             java.util.List<Mission> list = new java.util.ArrayList<>();
-            WorldState ws = session.getWorldState();
             
-            for (Mission m : district.getAvailableMissions()) {
-                // Check spawn conditions dynamically
-                if (!m.canSpawn(ws, session.getCharacter())) {
-                    continue;
-                }
-                
+            // Spawn conditions resueltas por el índice reactivo (solo cambia ante eventos)
+            for (Mission m : session.getAvailabilityIndex().getAvailableMissions()) {
                 Mission.MissionStatus status = m.getStatus();
                 if (status == Mission.MissionStatus.COMPLETED ||
                     status == Mission.MissionStatus.HIDDEN ||
@@ -1161,17 +1277,81 @@ public class DistrictMapScreen extends JPanel {
         }
 
         private Point2D getMissionWorldPosition(District district, Mission mission) {
+            Point position = ensureLayout(district).missionPositions.get(mission);
+            if (position != null) {
+                return new Point2D.Double(position.x, position.y);
+            }
             Point missionHub = getMissionHubAnchor(district, getWidth() / 2, getHeight() / 2);
-            int index = 0;
-            for (Mission m : getRenderableMissions(district)) {
-                if (m == mission) {
-                    int x = missionHub.x + (index - 1) * 100;
-                    int y = missionHub.y - 80;
-                    return new Point2D.Double(x, y);
+            return new Point2D.Double(missionHub.x, missionHub.y - 80);
+        }
+
+        /**
+         * Rearma posiciones de misiones e índices espaciales si cambió algo que los afecta:
+         * el distrito, el snapshot de misiones disponibles (es inmutable, se compara por
+         * identidad), el desbloqueo de las locations, el estado de las misiones (filtra
+         * getRenderableMissions), el tamaño del panel o una invalidación explícita (refresh,
+         * posiciones asignadas al dibujar). Si no, cuesta un recorrido de bytes sin asignar.
+         */
+        private DistrictMapPanel ensureLayout(District district) {
+            java.util.List<Mission> available = session.getAvailabilityIndex().getAvailableMissions();
+            boolean stateChanged = syncLayoutState(district);
+            if (!layoutDirty && !stateChanged && district == layoutDistrict && available == layoutMissions
+                && getWidth() == layoutWidth && getHeight() == layoutHeight) {
+                return this;
+            }
+
+            SpatialGrid.Builder<District.Location> locations = new SpatialGrid.Builder<>(HIT_CELL_SIZE);
+            for (District.Location location : district.getLocations()) {
+                if (location.isUnlocked()) {
+                    locations.add(location, location.getX(), location.getY());
                 }
+            }
+
+            Point missionHub = getMissionHubAnchor(district, getWidth() / 2, getHeight() / 2);
+            SpatialGrid.Builder<Mission> missions = new SpatialGrid.Builder<>(HIT_CELL_SIZE);
+            missionPositions.clear();
+            int index = 0;
+            for (Mission mission : getRenderableMissions(district)) {
+                Point position = new Point(missionHub.x + (index - 1) * 100, missionHub.y - 80);
+                missionPositions.put(mission, position);
+                missions.add(mission, position.x, position.y);
                 index++;
             }
-            return new Point2D.Double(missionHub.x, missionHub.y - 80);
+
+            locationGrid = locations.build();
+            missionGrid = missions.build();
+            layoutDirty = false;
+            layoutDistrict = district;
+            layoutMissions = available;
+            layoutWidth = getWidth();
+            layoutHeight = getHeight();
+            return this;
+        }
+
+        /**
+         * Compara desbloqueos y estados contra los del último layout y los actualiza.
+         * Detecta cambios que no pasaron por refresh() (p. ej. una misión que expira).
+         */
+        private boolean syncLayoutState(District district) {
+            java.util.List<District.Location> locations = district.getLocations();
+            java.util.List<Mission> missions = district.getMissions();
+            int length = locations.size() + missions.size();
+            boolean changed = layoutState.length != length;
+            if (changed) {
+                layoutState = new byte[length];
+            }
+            int i = 0;
+            for (int l = 0; l < locations.size(); l++, i++) {
+                byte value = (byte) (locations.get(l).isUnlocked() ? 1 : 0);
+                changed |= layoutState[i] != value;
+                layoutState[i] = value;
+            }
+            for (int m = 0; m < missions.size(); m++, i++) {
+                byte value = (byte) missions.get(m).getStatus().ordinal();
+                changed |= layoutState[i] != value;
+                layoutState[i] = value;
+            }
+            return changed;
         }
         
         /**
@@ -1180,14 +1360,14 @@ public class DistrictMapScreen extends JPanel {
         private Color getMissionColor(Mission mission) {
             switch (mission.getType()) {
                 case MAIN:
-                    return new Color(255, 215, 0); // Dorado
+                    return MISSION_GOLD;
                 case INTEL:
-                    return new Color(31, 199, 208); // Cian
+                    return MISSION_CYAN;
                 case COMBAT:
-                    return new Color(255, 50, 50); // Rojo
+                    return MISSION_RED;
                 case SIDE:
                 default:
-                    return new Color(200, 200, 200); // Gris claro
+                    return MISSION_GRAY;
             }
         }
         
@@ -1195,7 +1375,7 @@ public class DistrictMapScreen extends JPanel {
          * Dibuja tooltip avanzado de misión con información adicional.
          */
         private void drawMissionTooltip(Graphics2D g2d, Mission mission, int x, int y) {
-            g2d.setFont(GameConstants.FONT_TEXT.deriveFont(12f));
+            g2d.setFont(renderCache.derive(GameConstants.FONT_TEXT, 12f));
             FontMetrics fm = g2d.getFontMetrics();
             
             String title = mission.getTitle();
@@ -1209,24 +1389,24 @@ public class DistrictMapScreen extends JPanel {
             int height = 44;
             
             // Fondo
-            g2d.setColor(new Color(0, 0, 0, 220));
+            g2d.setColor(renderCache.alpha(Color.BLACK, 220));
             g2d.fillRoundRect(x - width / 2, y - height, width, height, 8, 8);
             
             // Borde según prioridad
             Color borderColor = mission.getPriority() == Mission.MissionPriority.HIGH || 
                                mission.getPriority() == Mission.MissionPriority.CRITICAL ?
-                               new Color(255, 215, 0) : GameConstants.COLOR_CYAN_NEON;
+                               MISSION_GOLD : GameConstants.COLOR_CYAN_NEON;
             g2d.setColor(borderColor);
-            g2d.setStroke(new BasicStroke(2));
+            g2d.setStroke(renderCache.stroke(2));
             g2d.drawRoundRect(x - width / 2, y - height, width, height, 8, 8);
             
             // Título
-            g2d.setFont(GameConstants.FONT_TEXT.deriveFont(Font.BOLD, 12f));
+            g2d.setFont(renderCache.derive(GameConstants.FONT_TEXT, Font.BOLD, 12f));
             g2d.setColor(GameConstants.COLOR_TEXT_PRIMARY);
             g2d.drawString(title, x - titleWidth / 2, y - 24);
             
             // Tipo + Prioridad
-            g2d.setFont(GameConstants.FONT_TEXT.deriveFont(10f));
+            g2d.setFont(renderCache.derive(GameConstants.FONT_TEXT, 10f));
             g2d.setColor(GameConstants.COLOR_TEXT_SECONDARY);
             g2d.drawString(type + priority, x - typeWidth / 2, y - 8);
         }
@@ -1235,13 +1415,13 @@ public class DistrictMapScreen extends JPanel {
          * Dibuja un tooltip (DRY).
          */
         private void drawTooltip(Graphics2D g2d, String text, int x, int y) {
-            g2d.setFont(GameConstants.FONT_TEXT.deriveFont(12f));
+            g2d.setFont(renderCache.derive(GameConstants.FONT_TEXT, 12f));
             FontMetrics fm = g2d.getFontMetrics();
             int width = fm.stringWidth(text) + 16;
             int height = 24;
             
             // Fondo
-            g2d.setColor(new Color(0, 0, 0, 200));
+            g2d.setColor(renderCache.alpha(Color.BLACK, 200));
             g2d.fillRoundRect(x - width / 2, y - height, width, height, 8, 8);
             
             // Borde
@@ -1253,7 +1433,7 @@ public class DistrictMapScreen extends JPanel {
         }
 
         private void drawOverlay(Graphics2D g2d) {
-            g2d.setFont(GameConstants.FONT_TEXT.deriveFont(12f));
+            g2d.setFont(renderCache.derive(GameConstants.FONT_TEXT, 12f));
             g2d.setColor(GameConstants.COLOR_TEXT_SECONDARY);
             g2d.drawString(getBreadcrumbFor(lastMouseX, lastMouseY), 12, 18);
             g2d.drawString(String.format("Zoom: %d%%", (int) Math.round(zoom * 100)), 12, 34);
@@ -1294,23 +1474,23 @@ public class DistrictMapScreen extends JPanel {
                 return;
             }
 
-            g2d.setFont(GameConstants.FONT_TEXT.deriveFont(12f));
+            g2d.setFont(renderCache.derive(GameConstants.FONT_TEXT, 12f));
             FontMetrics fm = g2d.getFontMetrics();
             int w = Math.max(fm.stringWidth(title), fm.stringWidth(body)) + 18;
             int h = 42;
             int x = (int) Math.round(anchor.getX()) + 18;
             int y = (int) Math.round(anchor.getY()) + 18;
 
-            g2d.setColor(new Color(0, 0, 0, 210));
+            g2d.setColor(renderCache.alpha(Color.BLACK, 210));
             g2d.fillRoundRect(x, y, w, h, 8, 8);
             g2d.setColor(getAccentColor());
-            g2d.setStroke(new BasicStroke(2));
+            g2d.setStroke(renderCache.stroke(2));
             g2d.drawRoundRect(x, y, w, h, 8, 8);
 
             g2d.setColor(GameConstants.COLOR_TEXT_PRIMARY);
             g2d.drawString(title, x + 9, y + 16);
             g2d.setColor(GameConstants.COLOR_TEXT_SECONDARY);
-            g2d.setFont(GameConstants.FONT_TEXT.deriveFont(10f));
+            g2d.setFont(renderCache.derive(GameConstants.FONT_TEXT, 10f));
             g2d.drawString(body, x + 9, y + 32);
         }
 
@@ -1388,32 +1568,13 @@ public class DistrictMapScreen extends JPanel {
         }
 
         private District.Location findLocationAt(District district, int x, int y) {
-            for (District.Location location : district.getLocations()) {
-                if (!location.isUnlocked()) continue;
-                if (isPointInDiamond(x, y, location.getX(), location.getY(), 28) ||
-                    isPointNear(x, y, location.getX(), location.getY(), 22)) {
-                    return location;
-                }
-            }
-            return null;
+            return ensureLayout(district).locationGrid.findFirst(x, y, LOCATION_HIT_RADIUS, (lx, ly) ->
+                isPointInDiamond(x, y, lx, ly, LOCATION_HIT_RADIUS) || isPointNear(x, y, lx, ly, 22));
         }
 
         private Mission findMissionAt(District district, int x, int y) {
-            Point missionHub = getMissionHubAnchor(district, getWidth() / 2, getHeight() / 2);
-            int baseX = missionHub.x;
-            int baseY = missionHub.y - 80;
-            int index = 0;
-
-            for (Mission mission : getRenderableMissions(district)) {
-
-                int mx = baseX + (index - 1) * 100;
-                int my = baseY;
-                if (isPointInDiamond(x, y, mx, my, 36) || isPointNear(x, y, mx, my, 28)) {
-                    return mission;
-                }
-                index++;
-            }
-            return null;
+            return ensureLayout(district).missionGrid.findFirst(x, y, MISSION_HIT_RADIUS, (mx, my) ->
+                isPointInDiamond(x, y, mx, my, MISSION_HIT_RADIUS) || isPointNear(x, y, mx, my, 28));
         }
 
         private void syncMissionVisualState() {
@@ -1460,7 +1621,7 @@ public class DistrictMapScreen extends JPanel {
          * Acción al clickear una locación.
          */
         private void onLocationAction(District.Location location) {
-            session.getGameLog().add("Visiting: " + location.getName());
+            session.getGameLog().add(LogEvent.Type.LOCATION_VISITED, location.getName());
             
             switch (location.getType()) {
                 case MISSION:
@@ -1492,7 +1653,7 @@ public class DistrictMapScreen extends JPanel {
          */
         private void onMissionAction(Mission mission) {
             session.setCurrentMission(mission);
-            session.getGameLog().add("Viewing mission: " + mission.getTitle());
+            session.getGameLog().add(LogEvent.Type.MISSION_VIEWED, mission.getTitle());
             onStateChange.accept(GameState.STATE_MISSION_WINDOW);
         }
         
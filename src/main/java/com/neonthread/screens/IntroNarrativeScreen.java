@@ -129,14 +129,17 @@ public class IntroNarrativeScreen extends JPanel {
      * Inicia la animación del texto con efecto typewriter.
      */
     public void startNarrative() {
+        if (typewriter != null) {
+            typewriter.stop(); // Si la pantalla vuelve, el revelado anterior no sigue escribiendo
+        }
         narrativeArea.setText("");
         String fullText = buildNarrativeText();
         
-        // Typewriter effect más rápido (estilo terminal)
-        typewriter = new TypewriterEffect(fullText, 15, text -> {
-            narrativeArea.setText(text);
+        // Typewriter effect más rápido (estilo terminal); append solo de lo nuevo
+        typewriter = TypewriterEffect.appending(this, fullText, 15, delta -> {
+            narrativeArea.append(delta);
             // Auto-scroll al final
-            narrativeArea.setCaretPosition(text.length());
+            narrativeArea.setCaretPosition(narrativeArea.getDocument().getLength());
         }, () -> {
             continueButton.setEnabled(true);
             unlockFirstMission();
@@ -2,37 +2,35 @@ package com.neonthread.screens;
 
 import com.neonthread.GameConstants;
 import com.neonthread.GameState;
+import com.neonthread.loaders.ContentPreloader;
+import com.neonthread.ui.FrameScheduler;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.List;
 import java.util.function.Consumer;
 
 /**
  * Pantalla de carga inicial del run (KISS).
- * Muestra animación de "booting" con mensajes tipo consola.
+ * Muestra mensajes tipo consola enlazados al progreso real de {@link ContentPreloader}.
  */
 public class LoadingRunScreen extends JPanel {
     private final Consumer<GameState> onComplete;
     private JTextArea consoleArea;
-    private Timer loadingTimer;
-    private int messageIndex = 0;
-    
-    private final String[] loadingMessages = {
-        "> Initializing urban environment...",
-        "> Loading neural modules...",
-        "> Connecting to the network...",
-        "> Synchronizing identity...",
-        "> System ready."
-    };
-    
+    private JProgressBar progressBar;
+    private int completedStages = 0;
+    private int loadingRun = 0; // Descarta callbacks de una carga anterior
+
+    private static final String READY_MESSAGE = "> System ready.";
+
     public LoadingRunScreen(Consumer<GameState> onComplete) {
         this.onComplete = onComplete;
         setLayout(new BorderLayout());
         setBackground(GameConstants.COLOR_BACKGROUND);
-        
+
         initializeUI();
     }
-    
+
     private void initializeUI() {
         consoleArea = new JTextArea();
         consoleArea.setEditable(false);
@@ -40,32 +38,50 @@ public class LoadingRunScreen extends JPanel {
         consoleArea.setForeground(GameConstants.COLOR_CYAN_NEON);
         consoleArea.setBackground(GameConstants.COLOR_BACKGROUND);
         consoleArea.setBorder(BorderFactory.createEmptyBorder(100, 100, 100, 100));
-        
+
+        progressBar = new JProgressBar(0, 100);
+        progressBar.setForeground(GameConstants.COLOR_CYAN_NEON);
+        progressBar.setBackground(GameConstants.COLOR_DARK_GRAY);
+        progressBar.setBorderPainted(false);
+        progressBar.setPreferredSize(new Dimension(0, 6));
+
         add(consoleArea, BorderLayout.CENTER);
+        add(progressBar, BorderLayout.SOUTH);
     }
-    
+
     /**
-     * Inicia la secuencia de carga.
+     * Inicia la secuencia de carga: cada etapa imprime su mensaje al completarse.
      */
     public void startLoading() {
-        messageIndex = 0;
+        int run = ++loadingRun;
+        completedStages = 0;
         consoleArea.setText("");
-        
-        loadingTimer = new Timer(600, e -> {
-            if (messageIndex < loadingMessages.length) {
-                consoleArea.append(loadingMessages[messageIndex] + "\n");
-                messageIndex++;
-            } else {
-                loadingTimer.stop();
-                // Esperar un poco antes de continuar
-                Timer delayTimer = new Timer(1000, ev -> {
+
+        List<ContentPreloader.Stage> stages = ContentPreloader.getStages();
+        progressBar.setMaximum(stages.size());
+        progressBar.setValue(0);
+
+        for (ContentPreloader.Stage stage : stages) {
+            stage.getFuture().whenComplete((result, error) ->
+                SwingUtilities.invokeLater(() -> onStageComplete(run, stage, stages.size())));
+        }
+    }
+
+    private void onStageComplete(int run, ContentPreloader.Stage stage, int totalStages) {
+        if (run != loadingRun) return;
+
+        consoleArea.append(stage.getMessage() + "\n");
+        completedStages++;
+        progressBar.setValue(completedStages);
+
+        if (completedStages == totalStages) {
+            consoleArea.append(READY_MESSAGE + "\n");
+            // Esperar un poco antes de continuar
+            FrameScheduler.getInstance().after(this, 1000, () -> {
+                if (run == loadingRun) {
                     onComplete.accept(GameState.STATE_CHARACTER_CREATION);
-                });
-                delayTimer.setRepeats(false);
-                delayTimer.start();
-            }
-        });
-        
-        loadingTimer.start();
+                }
+            });
+        }
     }
 }
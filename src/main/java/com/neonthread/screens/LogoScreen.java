@@ -3,6 +3,7 @@ package com.neonthread.screens;
 import com.neonthread.GameConstants;
 import com.neonthread.GameState;
 import com.neonthread.GlitchEffect;
+import com.neonthread.ui.FrameScheduler;
 
 import javax.swing.*;
 import java.awt.*;
@@ -23,7 +24,7 @@ public class LogoScreen extends JPanel {
         "██║██║ ╚████║███████╗╚██████╔╝██║ ╚████║   ██║   ███████╗██║  ██║\n" +
         "╚═╝╚═╝  ╚═══╝╚══════╝ ╚═════╝ ╚═╝  ╚═══╝   ╚═╝   ╚══════╝╚═╝  ╚═╝";
     
-    private Timer glitchTimer;
+    private FrameScheduler.Handle glitchTimer;
     private int glitchCount = 0;
     private static final int MAX_GLITCHES = 8;
     
@@ -45,10 +46,11 @@ public class LogoScreen extends JPanel {
     }
     
     public void show() {
+        cleanup();
         glitchCount = 0;
         
         // Aplicar glitches rápidos durante 500ms
-        glitchTimer = new Timer(60, e -> {
+        glitchTimer = FrameScheduler.getInstance().every(this, 60, () -> {
             glitchCount++;
             
             if (glitchCount < MAX_GLITCHES) {
@@ -62,26 +64,20 @@ public class LogoScreen extends JPanel {
                 }
             } else {
                 // Terminar con logo limpio
-                glitchTimer.stop();
+                glitchTimer.cancel();
                 logoArea.setText(cleanLogo);
                 logoArea.setForeground(GameConstants.COLOR_CYAN_NEON);
                 
                 // Mostrar logo limpio por 1.5s antes de ir al menú
-                Timer displayTimer = new Timer(1500, ev -> {
-                    ((Timer)ev.getSource()).stop();
+                FrameScheduler.getInstance().after(this, 1500, () -> {
                     cleanup();
                     onComplete.accept(GameState.STATE_MENU);
                 });
-                displayTimer.setRepeats(false);
-                displayTimer.start();
             }
         });
-        glitchTimer.start();
     }
     
     public void cleanup() {
-        if (glitchTimer != null) {
-            glitchTimer.stop();
-        }
+        FrameScheduler.getInstance().cancel(this);
     }
 }
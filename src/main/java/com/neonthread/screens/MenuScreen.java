@@ -3,6 +3,7 @@ package com.neonthread.screens;
 import com.neonthread.BlinkingCursor;
 import com.neonthread.GameConstants;
 import com.neonthread.GlitchEffect;
+import com.neonthread.ui.FrameScheduler;
 
 import javax.swing.*;
 import javax.swing.border.LineBorder;
@@ -30,8 +31,8 @@ public class MenuScreen extends JPanel {
     private final JLabel scanlineLabel;
     private final JPanel cityInfoPanel;
     private final JLabel[] cityInfoLabels;
-    private Timer scanlineTimer;
-    private Timer dataStreamTimer;
+    private FrameScheduler.Handle scanlineTimer;
+    private FrameScheduler.Handle dataStreamTimer;
     private Runnable onSettingsRequested;
     private Runnable onStartRunRequested;
     
@@ -77,7 +78,7 @@ public class MenuScreen extends JPanel {
         menuGbc.gridy = 0;
         menuPanel.add(cursorLabel, menuGbc);
         
-        cursor = new BlinkingCursor(this::repaint);
+        cursor = new BlinkingCursor(this, () -> FrameScheduler.getInstance().requestRepaint(this));
         
         // Opciones del menú
         optionLabels = new JLabel[menuOptions.length];
@@ -183,12 +184,8 @@ public class MenuScreen extends JPanel {
     
     public void cleanup() {
         cursor.stop();
-        if (scanlineTimer != null) {
-            scanlineTimer.stop();
-        }
-        if (dataStreamTimer != null) {
-            dataStreamTimer.stop();
-        }
+        // También cancela los "hide" pendientes de scanline y data stream
+        FrameScheduler.getInstance().cancel(this);
     }
     
     private void updateColors() {
@@ -203,32 +200,30 @@ public class MenuScreen extends JPanel {
     }
     
     private void startScanline() {
-        scanlineTimer = new Timer(GameConstants.SCANLINE_INTERVAL_MS, e -> {
+        if (scanlineTimer != null) {
+            scanlineTimer.cancel();
+        }
+        FrameScheduler scheduler = FrameScheduler.getInstance();
+        scanlineTimer = scheduler.every(this, GameConstants.SCANLINE_INTERVAL_MS, () -> {
             scanlineLabel.setText("[SCANNING SYSTEM INTEGRITY... OK]");
-            Timer hide = new Timer(1000, ev -> {
-                scanlineLabel.setText(" ");
-                ((Timer)ev.getSource()).stop();
-            });
-            hide.setRepeats(false);
-            hide.start();
+            scheduler.after(this, 1000, () -> scanlineLabel.setText(" "));
         });
-        scanlineTimer.start();
     }
     
     private void startDataStream() {
         // Mensajes de interferencia aleatorios
-        dataStreamTimer = new Timer(4000, e -> {
+        if (dataStreamTimer != null) {
+            dataStreamTimer.cancel();
+        }
+        FrameScheduler scheduler = FrameScheduler.getInstance();
+        dataStreamTimer = scheduler.every(this, 4000, () -> {
             scanlineLabel.setText(GlitchEffect.generateInterference());
             scanlineLabel.setForeground(GameConstants.COLOR_MAGENTA_NEON);
-            Timer hide = new Timer(800, ev -> {
+            scheduler.after(this, 800, () -> {
                 scanlineLabel.setText(" ");
                 scanlineLabel.setForeground(GameConstants.COLOR_YELLOW_NEON);
-                ((Timer)ev.getSource()).stop();
             });
-            hide.setRepeats(false);
-            hide.start();
         });
-        dataStreamTimer.start();
     }
     
     private void executeOption() {
@@ -3,8 +3,8 @@ package com.neonthread.screens;
 import com.neonthread.District;
 import com.neonthread.GameConstants;
 import com.neonthread.GameSession;
+import com.neonthread.LogEvent;
 import com.neonthread.Mission;
-import com.neonthread.WorldState;
 import com.neonthread.localization.Localization;
 
 import java.awt.Color;
@@ -160,17 +160,8 @@ public class MissionWindowPresenter {
     public boolean canAcceptMission(Mission mission) {
         if (mission == null) return false;
         
-        // Verificar requisitos de misiones previas
-        for (String requiredMissionId : mission.getRequirements()) {
-            if (!session.hasCompleted(requiredMissionId)) {
-                return false;
-            }
-        }
-        
-        // Verificar condiciones de spawn
-        WorldState worldState = session.getWorldState();
-        com.neonthread.Character character = session.getCharacter();
-        return mission.canSpawn(worldState, character);
+        // Requisitos previos + condiciones de spawn, ya resueltos por el índice
+        return session.getAvailabilityIndex().isAvailable(mission);
     }
     
     /**
@@ -188,14 +179,15 @@ public class MissionWindowPresenter {
         // Actualizar estado
         mission.accept();
         
-        // Registrar en log
-        session.getGameLog().add(t("mission.accepted") + ": " + mission.getTitle());
+        // Registrar en log (los eventos siguientes quedan asociados a la misión)
+        session.getGameLog().setMission(mission.getId());
+        session.getGameLog().add(LogEvent.Type.MISSION_ACCEPTED, mission.getTitle());
         
         // Aplicar desbloqueos
         District district = session.getDistrict();
         for (String unlockId : mission.getUnlocks()) {
             district.unlockLocationById(unlockId);
-            session.getGameLog().add(t("mission.unlocked") + ": " + unlockId);
+            session.getGameLog().add(LogEvent.Type.LOCATION_UNLOCKED, unlockId);
         }
         
         return new AcceptMissionResult(true, mission.getNextSceneId());
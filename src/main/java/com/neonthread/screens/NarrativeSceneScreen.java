@@ -1,22 +1,26 @@
 package com.neonthread.screens;
 
+import com.neonthread.CompiledScene;
 import com.neonthread.GameConstants;
 import com.neonthread.GameLog;
 import com.neonthread.GameSession;
 import com.neonthread.GameState;
+import com.neonthread.LogEvent;
 import com.neonthread.Mission;
 import com.neonthread.MissionHistory;
 import com.neonthread.NarrativeScene;
 import com.neonthread.NarrativeScene.*;
+import com.neonthread.TypewriterEffect;
+import com.neonthread.flags.FlagSet;
+import com.neonthread.loaders.ScenePrefetcher;
 import com.neonthread.stats.StatType;
 import com.neonthread.ui.CyberpunkButton;
+import com.neonthread.ui.FrameScheduler;
 
 import javax.swing.*;
 import java.awt.*;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.function.Consumer;
 
 /**
@@ -35,14 +39,15 @@ public class NarrativeSceneScreen extends JPanel {
     private JPanel bottomBar;
     
     private NarrativeScene currentScene;
-    private Map<String, Boolean> worldFlags;
+    private FlagSet worldFlags;
     private MissionHistory history;
-    private boolean typewriterActive;
+    private TypewriterEffect typewriter; // Revelado del texto de la escena actual
+    private FrameScheduler.Handle closingTimer; // Transición a resultados de una escena de cierre
     
     public NarrativeSceneScreen(Consumer<GameState> onStateChange) {
         this.onStateChange = onStateChange;
         this.session = GameSession.getInstance();
-        this.worldFlags = new HashMap<>();
+        this.worldFlags = new FlagSet();
         
         setLayout(new BorderLayout());
         setBackground(new Color(0x0A0A0F));
@@ -118,8 +123,8 @@ public class NarrativeSceneScreen extends JPanel {
         // Click para saltar efecto de tipeo
         narrativeArea.addMouseListener(new java.awt.event.MouseAdapter() {
             public void mouseClicked(java.awt.event.MouseEvent e) {
-                if (typewriterActive) {
-                    typewriterActive = false;
+                if (typewriter != null) {
+                    typewriter.skip();
                 }
             }
         });
@@ -193,42 +198,40 @@ public class NarrativeSceneScreen extends JPanel {
         // Mostrar texto con efecto de tipeo
         displayNarrativeText(scene.getTexto());
         
+        // Precargar sucesoras mientras el jugador lee
+        ScenePrefetcher.prefetchSuccessors(scene);
+        
         // Aplicar flags de la escena
-        worldFlags.putAll(scene.getFlagsActivos());
+        scene.getCompilada().applySceneFlags(worldFlags);
         
         // Renderizar opciones
         renderOptions(scene);
         
         // Si es escena de cierre, preparar transición
+        if (closingTimer != null) {
+            closingTimer.cancel();
+        }
         if (scene.esCierre()) {
-            Timer timer = new Timer(3000, e -> goToResults());
-            timer.setRepeats(false);
-            timer.start();
+            closingTimer = FrameScheduler.getInstance().after(this, 3000, this::goToResults);
         }
     }
     
     /**
      * Muestra el texto narrativo con efecto de tipeo (DRY).
+     * Corre en el reloj compartido: los caracteres de cada frame entran en un solo append,
+     * y una escena nueva cancela el revelado anterior antes de limpiar el área.
      */
     private void displayNarrativeText(String text) {
+        if (typewriter != null) {
+            typewriter.stop();
+        }
         narrativeArea.setText("");
-        typewriterActive = true;
-        
-        new Thread(() -> {
-            try {
-                for (int i = 0; i < text.length() && typewriterActive; i++) {
-                    final int index = i;
-                    SwingUtilities.invokeLater(() -> {
-                        narrativeArea.append(String.valueOf(text.charAt(index)));
-                        narrativeArea.setCaretPosition(narrativeArea.getDocument().getLength());
-                    });
-                    Thread.sleep(15);
-                }
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-            typewriterActive = false;
-        }).start();
+        
+        typewriter = TypewriterEffect.appending(this, text != null ? text : "", 15, delta -> {
+            narrativeArea.append(delta);
+            narrativeArea.setCaretPosition(narrativeArea.getDocument().getLength());
+        }, null);
+        typewriter.start();
     }
     
     /**
@@ -240,15 +243,16 @@ public class NarrativeSceneScreen extends JPanel {
         
         int optionNumber = 1;
         com.neonthread.Character character = session.getCharacter();
+        CompiledScene compiled = scene.getCompilada();
         
-        for (SceneOption option : scene.getOpciones()) {
+        for (int optionIndex = 0; optionIndex < compiled.getOptionCount(); optionIndex++) {
             // Verificar si es visible según flags
-            if (!option.esVisible(worldFlags)) {
+            if (!compiled.isVisible(optionIndex, worldFlags)) {
                 continue;
             }
             
             // Crear botón de opción
-            JPanel optionContainer = createOptionButton(optionNumber, option, character);
+            JPanel optionContainer = createOptionButton(optionNumber, scene, optionIndex, character);
             optionsPanel.add(optionContainer);
             optionsPanel.add(Box.createVerticalStrut(10));
             
@@ -265,7 +269,10 @@ public class NarrativeSceneScreen extends JPanel {
     /**
      * Crea un botón de opción con checks visibles (DRY).
      */
-    private JPanel createOptionButton(int number, SceneOption option, com.neonthread.Character character) {
+    private JPanel createOptionButton(int number, NarrativeScene scene, int optionIndex,
+                                      com.neonthread.Character character) {
+        SceneOption option = scene.getOpciones().get(optionIndex);
+        CompiledScene compiled = scene.getCompilada();
         JPanel container = new JPanel();
         container.setLayout(new BoxLayout(container, BoxLayout.Y_AXIS));
         container.setBackground(new Color(0x0A0A0F));
@@ -275,7 +282,7 @@ public class NarrativeSceneScreen extends JPanel {
         CyberpunkButton optionBtn = new CyberpunkButton(number + ") " + option.getTexto());
         optionBtn.setMaximumSize(new Dimension(900, 45));
         optionBtn.setAlignmentX(Component.LEFT_ALIGNMENT);
-        optionBtn.addActionListener(e -> selectOption(option));
+        optionBtn.addActionListener(e -> selectOption(optionIndex));
         
         container.add(optionBtn);
         
@@ -285,8 +292,9 @@ public class NarrativeSceneScreen extends JPanel {
             checksPanel.setBackground(new Color(0x0A0A0F));
             checksPanel.setAlignmentX(Component.LEFT_ALIGNMENT);
             
-            for (AttributeCheck check : option.getChecks()) {
-                boolean passes = check.evaluar(character);
+            for (int checkIndex = 0; checkIndex < option.getChecks().size(); checkIndex++) {
+                AttributeCheck check = option.getChecks().get(checkIndex);
+                boolean passes = compiled.passesCheck(optionIndex, checkIndex, character);
                 JLabel checkLabel = new JLabel("   • " + check.getDescripcion());
                 checkLabel.setFont(GameConstants.FONT_TEXT.deriveFont(11f));
                 checkLabel.setForeground(passes ? GameConstants.COLOR_CYAN_NEON : GameConstants.COLOR_RED_NEON);
@@ -302,8 +310,9 @@ public class NarrativeSceneScreen extends JPanel {
     /**
      * Selecciona una opción y ejecuta su lógica (KISS).
      */
-    private void selectOption(SceneOption option) {
+    private void selectOption(int optionIndex) {
         com.neonthread.Character character = session.getCharacter();
+        CompiledScene compiled = currentScene.getCompilada();
         
         // Registrar decisión
         if (history != null) {
@@ -311,19 +320,19 @@ public class NarrativeSceneScreen extends JPanel {
         }
         
         // Evaluar checks
-        boolean passesChecks = option.pasaChecks(character);
+        boolean passesChecks = compiled.evaluateChecks(optionIndex, character, session.getGameLog());
         
         if (passesChecks) {
             // Registrar éxito
-            if (history != null && !option.getChecks().isEmpty()) {
+            if (history != null && compiled.getCheckCount(optionIndex) > 0) {
                 history.recordCheckSuccess();
             }
             
             // Aplicar consecuencias
-            option.aplicarConsecuencias(character, worldFlags, session.getGameLog());
+            compiled.applyConsequences(optionIndex, character, worldFlags, session.getGameLog());
             
             // Ir a siguiente escena
-            String nextSceneId = option.getSiguienteEscena();
+            String nextSceneId = compiled.getNextScene(optionIndex);
             if (nextSceneId != null) {
                 loadScene(nextSceneId);
             }
@@ -334,12 +343,12 @@ public class NarrativeSceneScreen extends JPanel {
             }
             
             // Ir a escena de fallo
-            String failSceneId = option.getEscenaFallo();
+            String failSceneId = compiled.getFailScene(optionIndex);
             if (failSceneId != null) {
                 loadScene(failSceneId);
             } else {
                 // Sin escena de fallo, mostrar mensaje
-                session.getGameLog().add("Check fallido: no puedes realizar esa acción");
+                session.getGameLog().add(LogEvent.Type.ACTION_BLOCKED);
             }
         }
     }
@@ -405,8 +414,9 @@ public class NarrativeSceneScreen extends JPanel {
         if (log == null) return;
         
         StringBuilder logText = new StringBuilder("REGISTRO DE EVENTOS:\n\n");
-        for (GameLog.LogEntry entry : log.getRecentEntries(20)) {
-            logText.append("• ").append(entry.toString()).append("\n");
+        GameLog.View recent = log.recent(20);
+        for (int i = 0; i < recent.size(); i++) {
+            logText.append("• ").append(recent.getMessage(i)).append("\n");
         }
         
         JTextArea logArea = new JTextArea(logText.toString());
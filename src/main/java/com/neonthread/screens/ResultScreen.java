@@ -3,10 +3,14 @@ package com.neonthread.screens;
 import com.neonthread.District;
 import com.neonthread.GameConstants;
 import com.neonthread.GameLog;
+import com.neonthread.GameLogIndex;
 import com.neonthread.GameSession;
 import com.neonthread.GameState;
+import com.neonthread.LogEvent;
 import com.neonthread.Mission;
+import com.neonthread.MissionDependencyGraph;
 import com.neonthread.MissionHistory;
+import com.neonthread.stats.StatType;
 import com.neonthread.ui.CyberpunkButton;
 
 import javax.swing.*;
@@ -238,7 +242,7 @@ public class ResultScreen extends JPanel {
         // Grid de estadísticas
         JPanel statsGrid = new JPanel(new GridLayout(0, 2, 30, 12));
         statsGrid.setBackground(new Color(0x0A0A0F));
-        statsGrid.setMaximumSize(new Dimension(700, 200));
+        statsGrid.setMaximumSize(new Dimension(700, 260));
         statsGrid.setAlignmentX(Component.LEFT_ALIGNMENT);
         
         addStatItem(statsGrid, "Choices made", String.valueOf(history.getDecisionCount()));
@@ -248,10 +252,33 @@ public class ResultScreen extends JPanel {
         addStatItem(statsGrid, "Items collected", String.valueOf(history.getItemsCollected().size()));
         addStatItem(statsGrid, "Total time", history.getFormattedTime());
         
+        // Consultas indexadas sobre los eventos de esta corrida de la misión
+        GameLogIndex index = session.getGameLog().getIndex();
+        long runStart = history.getStartTime().toEpochMilli();
+        long credits = index.query().mission(history.getMissionId()).since(runStart)
+            .type(LogEvent.Type.STAT_CHANGED).stat(StatType.CREDITS).sumDelta();
+        addStatItem(statsGrid, "Credits (choices)", (credits > 0 ? "+" : "") + credits);
+        int[] failedByStat = index.query().mission(history.getMissionId()).since(runStart)
+            .type(LogEvent.Type.CHECK_FAILED).countByStat();
+        addStatItem(statsGrid, "Weakest stat", weakestStat(failedByStat));
+        
         panel.add(statsGrid);
         panel.add(Box.createVerticalStrut(30));
     }
     
+    /**
+     * Stat con más checks fallidos, o "-" si no falló ninguno.
+     */
+    private String weakestStat(int[] failedByStat) {
+        int worst = -1;
+        for (int stat = 0; stat < failedByStat.length; stat++) {
+            if (failedByStat[stat] > 0 && (worst < 0 || failedByStat[stat] > failedByStat[worst])) {
+                worst = stat;
+            }
+        }
+        return worst < 0 ? "-" : LogEvent.statName(worst) + " x" + failedByStat[worst];
+    }
+    
     /**
      * Adds a statistics item (DRY).
      */
@@ -329,28 +356,27 @@ public class ResultScreen extends JPanel {
         
         // Registrar en log
         if (log != null) {
-            log.add("Misión completada: " + mission.getTitle());
-            log.add("Créditos ganados: +" + mission.getRewardCredits());
-            log.add("Reputación aumentada: +1");
+            log.add(LogEvent.Type.MISSION_COMPLETED, mission.getTitle());
+            log.add(LogEvent.Type.REWARD, StatType.CREDITS, mission.getRewardCredits());
+            log.add(LogEvent.Type.REWARD, StatType.REPUTATION, 1);
+            log.setMission(null);
         }
         
         // Desbloquear siguiente misión (si existe)
-        unlockNextMissions(mission, district);
+        unlockNextMissions(mission);
     }
     
     /**
      * Unlocks next missions in chain (DRY).
+     * Only the dependents whose last pending requirement was this mission.
      */
-    private void unlockNextMissions(Mission completedMission, District district) {
-        if (district == null) return;
+    private void unlockNextMissions(Mission completedMission) {
+        MissionDependencyGraph graph = session.getDependencyGraph();
+        if (graph == null) return;
         
-        // Lógica de desbloqueo de misiones siguientes
-        // En producción, esto vendría de un sistema de progresión
-        for (Mission mission : district.getMissions()) {
+        for (Mission mission : graph.getUnlockedBy(completedMission.getId())) {
             if (mission.getStatus() == Mission.MissionStatus.LOCKED) {
-                // Ejemplo: desbloquear si la misión actual era prerequisito
                 mission.setStatus(Mission.MissionStatus.AVAILABLE);
-                break; // Solo desbloquear una por vez
             }
         }
     }
@@ -387,6 +413,7 @@ public class ResultScreen extends JPanel {
         if (confirm == JOptionPane.YES_OPTION) {
             // Resetear estado de misión
             mission.setStatus(Mission.MissionStatus.ACCEPTED);
+            session.getGameLog().setMission(mission.getId());
             
             // Resetear historial
             history = null;
@@ -22,7 +22,7 @@ public class GameSettings {
         load();
     }
 
-    public static GameSettings getInstance() {
+    public static synchronized GameSettings getInstance() {
         if (instance == null) {
             instance = new GameSettings();
         }
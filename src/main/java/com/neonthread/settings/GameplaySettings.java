@@ -4,14 +4,17 @@ import java.util.Properties;
 
 public class GameplaySettings {
     private String theme = "CYAN";
+    private boolean journalEnabled = true;
 
     public void load(Properties props) {
         this.theme = props.getProperty("theme", "CYAN");
+        this.journalEnabled = Boolean.parseBoolean(props.getProperty("journal", "true"));
         validate();
     }
 
     public void save(Properties props) {
         props.setProperty("theme", theme);
+        props.setProperty("journal", String.valueOf(journalEnabled));
     }
 
     public void validate() {
@@ -21,6 +24,8 @@ public class GameplaySettings {
     }
 
     public String getTheme() { return theme; }
+    public boolean isJournalEnabled() { return journalEnabled; }
+    public void setJournalEnabled(boolean journalEnabled) { this.journalEnabled = journalEnabled; }
     public void setTheme(String theme) { 
         this.theme = theme;
         validate();
@@ -5,6 +5,7 @@ public class BaseAttributes {
     private int physical;
     private int perception;
     private int charisma;
+    private int version; // Se incrementa en cada set para invalidar cachés derivadas
 
     public BaseAttributes(int intelligence, int physical, int perception, int charisma) {
         this.intelligence = intelligence;
@@ -17,9 +18,14 @@ public class BaseAttributes {
     public int getPhysical() { return physical; }
     public int getPerception() { return perception; }
     public int getCharisma() { return charisma; }
+    public int getVersion() { return version; }
 
-    public void setIntelligence(int intelligence) { this.intelligence = intelligence; }
-    public void setPhysical(int physical) { this.physical = physical; }
-    public void setPerception(int perception) { this.perception = perception; }
-    public void setCharisma(int charisma) { this.charisma = charisma; }
+    public BaseAttributes copy() {
+        return new BaseAttributes(intelligence, physical, perception, charisma);
+    }
+
+    public void setIntelligence(int intelligence) { this.intelligence = intelligence; version++; }
+    public void setPhysical(int physical) { this.physical = physical; version++; }
+    public void setPerception(int perception) { this.perception = perception; version++; }
+    public void setCharisma(int charisma) { this.charisma = charisma; version++; }
 }
@@ -4,7 +4,7 @@ public class Modifier {
     private final String id;
     private final StatType targetStat;
     private final int value;
-    private int duration; // Number of missions/turns. -1 for permanent/indefinite.
+    private final int duration; // Number of missions/turns. -1 for permanent/indefinite. Countdown lives in ModifierTimeline.
     private final String description;
 
     public Modifier(String id, StatType targetStat, int value, int duration, String description) {
@@ -20,14 +20,4 @@ public class Modifier {
     public int getValue() { return value; }
     public int getDuration() { return duration; }
     public String getDescription() { return description; }
-
-    public void decreaseDuration() {
-        if (duration > 0) {
-            duration--;
-        }
-    }
-
-    public boolean isExpired() {
-        return duration == 0;
-    }
 }
@@ -0,0 +1,106 @@
+package com.neonthread.stats;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Agenda de modificadores ordenada por tick de expiración (KISS).
+ *
+ * Los modificadores permanentes (duración negativa) van a un bucket aparte y nunca
+ * se recorren al avanzar el tiempo. Los temporales se guardan en un min-heap por
+ * tick de expiración absoluto, así cada tick solo toca los que realmente expiran
+ * en lugar de decrementar la duración de todos.
+ */
+public class ModifierTimeline {
+    private final List<Modifier> permanent = new ArrayList<>();
+    private final PriorityQueue<Entry> timed = new PriorityQueue<>();
+    private long currentTick = 0;
+    private long sequence = 0; // Desempate estable: expiran en orden de llegada
+
+    private static final class Entry implements Comparable<Entry> {
+        final Modifier modifier;
+        final long expiryTick;
+        final long order;
+
+        Entry(Modifier modifier, long expiryTick, long order) {
+            this.modifier = modifier;
+            this.expiryTick = expiryTick;
+            this.order = order;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            int byTick = Long.compare(expiryTick, other.expiryTick);
+            return byTick != 0 ? byTick : Long.compare(order, other.order);
+        }
+    }
+
+    public void add(Modifier modifier) {
+        int duration = modifier.getDuration();
+        if (duration < 0) {
+            permanent.add(modifier);
+        } else {
+            // Duración 0 ya está expirada: se retira en el próximo tick
+            timed.add(new Entry(modifier, currentTick + Math.max(duration, 1), sequence++));
+        }
+    }
+
+    /**
+     * Quita una ocurrencia del modificador (por identidad). Es O(n), pero solo ocurre
+     * al desequipar items; el camino caliente es {@link #tick()}.
+     */
+    public boolean remove(Modifier modifier) {
+        if (permanent.remove(modifier)) return true;
+        for (Entry entry : timed) {
+            if (entry.modifier == modifier) {
+                return timed.remove(entry);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Avanza un tick y devuelve los modificadores expirados. O(k log n) para k expirados.
+     */
+    public List<Modifier> tick() {
+        currentTick++;
+        if (timed.isEmpty() || timed.peek().expiryTick > currentTick) {
+            return Collections.emptyList();
+        }
+        List<Modifier> expired = new ArrayList<>();
+        while (!timed.isEmpty() && timed.peek().expiryTick <= currentTick) {
+            expired.add(timed.poll().modifier);
+        }
+        return expired;
+    }
+
+    /**
+     * Ticks restantes antes de expirar, o -1 si es permanente o no está agendado.
+     */
+    public int getRemainingTicks(Modifier modifier) {
+        for (Entry entry : timed) {
+            if (entry.modifier == modifier) {
+                return (int) (entry.expiryTick - currentTick);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Copia independiente. Las entradas son inmutables y se comparten.
+     */
+    public ModifierTimeline copy() {
+        ModifierTimeline copy = new ModifierTimeline();
+        copy.permanent.addAll(permanent);
+        copy.timed.addAll(timed);
+        copy.currentTick = currentTick;
+        copy.sequence = sequence;
+        return copy;
+    }
+
+    public int size() {
+        return permanent.size() + timed.size();
+    }
+}
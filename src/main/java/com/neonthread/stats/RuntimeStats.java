@@ -14,6 +14,10 @@ public class RuntimeStats {
         this.battery = battery;
     }
 
+    public RuntimeStats copy() {
+        return new RuntimeStats(health, energy, battery);
+    }
+
     public int getHealth() { return health; }
     public void setHealth(int health) { this.health = health; }
 
@@ -0,0 +1,252 @@
+package com.neonthread.ui;
+
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import java.awt.Component;
+import java.awt.DisplayMode;
+import java.awt.GraphicsEnvironment;
+import java.awt.HeadlessException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reloj de animación compartido (Singleton + KISS).
+ *
+ * Un único javax.swing.Timer a la frecuencia de refresco del monitor reemplaza a los
+ * timers sueltos de cada pantalla. Las tareas (periódicas, diferidas o animaciones por
+ * frame) pertenecen a un componente; al salir de una pantalla, NeonThreadGame.changeState
+ * pausa las tareas de ese componente y sus hijos, y las reanuda si la pantalla vuelve.
+ * Los repaints pedidos con {@link #requestRepaint} se juntan en uno por componente y
+ * frame. Sin tareas activas el timer se detiene: no hay wakeups del EDT en reposo.
+ *
+ * Se usa solo desde el EDT.
+ */
+public final class FrameScheduler {
+    private static final int DEFAULT_REFRESH_RATE = 60;
+
+    private static FrameScheduler instance;
+
+    private final Timer timer;
+    private final List<Handle> tasks = new ArrayList<>();
+    private final Set<Component> pendingRepaints = new LinkedHashSet<>();
+    private final int frameMs;
+
+    /**
+     * Callback por frame de una animación. Devuelve false para terminarla.
+     */
+    @FunctionalInterface
+    public interface FrameCallback {
+        boolean onFrame(long elapsedMs);
+    }
+
+    /**
+     * Tarea registrada. Se cancela con {@link #cancel()}.
+     */
+    public final class Handle {
+        private final Component owner;
+        private final long intervalMs; // 0 = animación por frame
+        private final boolean repeats;
+        private final Runnable action;
+        private final FrameCallback callback;
+        private long startAt;
+        private long nextAt;
+        private long pausedAt = -1;
+        private boolean cancelled;
+
+        private Handle(Component owner, long delayMs, long intervalMs, boolean repeats,
+                       Runnable action, FrameCallback callback) {
+            this.owner = owner;
+            this.intervalMs = intervalMs;
+            this.repeats = repeats;
+            this.action = action;
+            this.callback = callback;
+            this.startAt = now();
+            this.nextAt = startAt + delayMs;
+        }
+
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isActive() {
+            return !cancelled;
+        }
+
+        public boolean isPaused() {
+            return pausedAt >= 0;
+        }
+
+        private void pause(long now) {
+            if (pausedAt < 0) pausedAt = now;
+        }
+
+        private void resume(long now) {
+            if (pausedAt < 0) return;
+            long pausedFor = now - pausedAt;
+            startAt += pausedFor;
+            nextAt += pausedFor;
+            pausedAt = -1;
+        }
+
+        /**
+         * Ejecuta la tarea si le toca. Devuelve false si terminó.
+         */
+        private boolean run(long now) {
+            if (callback != null) {
+                return callback.onFrame(now - startAt);
+            }
+            if (now < nextAt) return true;
+            action.run();
+            if (!repeats) return false;
+            nextAt += intervalMs;
+            if (nextAt <= now) {
+                nextAt = now + intervalMs; // Atrasada (p. ej. EDT bloqueado): sin ráfagas
+            }
+            return true;
+        }
+    }
+
+    private FrameScheduler() {
+        this.frameMs = Math.max(1, 1000 / detectRefreshRate());
+        this.timer = new Timer(frameMs, e -> tick());
+        this.timer.setCoalesce(true);
+    }
+
+    public static synchronized FrameScheduler getInstance() {
+        if (instance == null) {
+            instance = new FrameScheduler();
+        }
+        return instance;
+    }
+
+    private static int detectRefreshRate() {
+        try {
+            if (GraphicsEnvironment.isHeadless()) return DEFAULT_REFRESH_RATE;
+            int rate = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                .getDefaultScreenDevice().getDisplayMode().getRefreshRate();
+            return rate == DisplayMode.REFRESH_RATE_UNKNOWN ? DEFAULT_REFRESH_RATE : rate;
+        } catch (HeadlessException e) {
+            return DEFAULT_REFRESH_RATE;
+        }
+    }
+
+    public int getFrameMs() {
+        return frameMs;
+    }
+
+    // ==================== REGISTRO ====================
+
+    /**
+     * Ejecuta {@code action} cada {@code intervalMs} (la primera vez tras un intervalo).
+     */
+    public Handle every(Component owner, int intervalMs, Runnable action) {
+        return register(new Handle(owner, intervalMs, Math.max(1, intervalMs), true, action, null));
+    }
+
+    /**
+     * Ejecuta {@code action} una vez, pasados {@code delayMs}.
+     */
+    public Handle after(Component owner, int delayMs, Runnable action) {
+        return register(new Handle(owner, delayMs, 0, false, action, null));
+    }
+
+    /**
+     * Llama a {@code callback} en cada frame con el tiempo transcurrido hasta que devuelva false.
+     */
+    public Handle animate(Component owner, FrameCallback callback) {
+        return register(new Handle(owner, 0, 0, true, null, callback));
+    }
+
+    private Handle register(Handle handle) {
+        tasks.add(handle);
+        wake();
+        return handle;
+    }
+
+    /**
+     * Pide un repaint para el próximo frame; varios pedidos en el mismo frame se juntan.
+     */
+    public void requestRepaint(Component component) {
+        if (component == null) return;
+        pendingRepaints.add(component);
+        wake();
+    }
+
+    // ==================== CICLO DE VIDA ====================
+
+    /**
+     * Cancela las tareas de {@code owner} y sus descendientes.
+     */
+    public void cancel(Component owner) {
+        for (Handle handle : tasks) {
+            if (belongsTo(handle, owner)) handle.cancel();
+        }
+    }
+
+    /**
+     * Congela las tareas de {@code owner} y sus descendientes (pantalla removida).
+     */
+    public void pause(Component owner) {
+        long now = now();
+        for (Handle handle : tasks) {
+            if (belongsTo(handle, owner)) handle.pause(now);
+        }
+    }
+
+    /**
+     * Reanuda lo pausado de {@code owner}; los tiempos se corren lo que duró la pausa.
+     */
+    public void resume(Component owner) {
+        long now = now();
+        for (Handle handle : tasks) {
+            if (belongsTo(handle, owner)) handle.resume(now);
+        }
+        wake();
+    }
+
+    private static boolean belongsTo(Handle handle, Component owner) {
+        return owner != null && handle.owner != null
+            && (handle.owner == owner || SwingUtilities.isDescendingFrom(handle.owner, owner));
+    }
+
+    private void wake() {
+        if (!timer.isRunning()) {
+            timer.start();
+        }
+    }
+
+    private void tick() {
+        long now = now();
+        // Por índice: una tarea puede registrar otras durante el frame
+        for (int i = 0; i < tasks.size(); i++) {
+            Handle handle = tasks.get(i);
+            if (handle.cancelled || handle.isPaused()) continue;
+            if (!handle.run(now)) {
+                handle.cancelled = true;
+            }
+        }
+        tasks.removeIf(handle -> handle.cancelled);
+        boolean active = false;
+        for (Handle handle : tasks) {
+            if (!handle.isPaused()) active = true;
+        }
+
+        if (!pendingRepaints.isEmpty()) {
+            List<Component> dirty = new ArrayList<>(pendingRepaints);
+            pendingRepaints.clear();
+            for (Component component : dirty) {
+                component.repaint();
+            }
+        }
+
+        if (!active && pendingRepaints.isEmpty()) {
+            timer.stop();
+        }
+    }
+
+    private static long now() {
+        return System.nanoTime() / 1_000_000L;
+    }
+}
@@ -74,18 +74,11 @@ public class MissionCard extends JPanel {
      * Aplica animación de fade-in.
      */
     public void animateFadeIn() {
-        Timer fadeTimer = new Timer(20, null);
-        final float[] opacity = {0.0f};
-        
-        fadeTimer.addActionListener(e -> {
-            opacity[0] += 0.1f;
-            if (opacity[0] >= 1.0f) {
-                fadeTimer.stop();
-            }
-            repaint();
+        FrameScheduler scheduler = FrameScheduler.getInstance();
+        scheduler.animate(this, elapsed -> {
+            scheduler.requestRepaint(this);
+            return elapsed < 200;
         });
-        
-        fadeTimer.start();
     }
     
     /**
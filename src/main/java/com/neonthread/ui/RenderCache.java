@@ -0,0 +1,223 @@
+package com.neonthread.ui;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Caché de recursos de dibujo: fuentes, colores y strokes (Singleton + KISS).
+ *
+ * Los paint loops piden acá lo que antes creaban con new Font/new Color/new BasicStroke
+ * por elemento y por frame. Cada recurso se crea una vez; después la búsqueda es por
+ * claves int sin boxing, así que un frame estable no asigna memoria. Para los colores
+ * pulsantes se precalcula la rampa completa de alpha (0-255) de cada color base.
+ *
+ * Cada creación cuenta como "miss": {@link #beginFrame()} al empezar a pintar y
+ * {@link #getLastFrameMisses()} después permiten ver si algún camino volvió a asignar
+ * en cada frame (debería quedar en 0 una vez que la pantalla se pintó una vez).
+ *
+ * Se usa solo desde el EDT.
+ */
+public final class RenderCache {
+    private static RenderCache instance;
+
+    private final Map<String, Font> familyBases = new HashMap<>();
+    private final Map<Font, IntTable<Font>> derivedFonts = new IdentityHashMap<>();
+    private final IntTable<Color> opaqueColors = new IntTable<>();
+    private final IntTable<Color[]> alphaRamps = new IntTable<>();
+    private final IntTable<BasicStroke> strokes = new IntTable<>();
+
+    private long totalMisses;
+    private int frameMisses;
+    private int lastFrameMisses;
+
+    private RenderCache() {}
+
+    public static synchronized RenderCache getInstance() {
+        if (instance == null) {
+            instance = new RenderCache();
+        }
+        return instance;
+    }
+
+    // ==================== FUENTES ====================
+
+    /**
+     * Equivalente a {@code new Font(family, style, size)}.
+     */
+    public Font font(String family, int style, int size) {
+        Font base = familyBases.get(family);
+        if (base == null) {
+            base = new Font(family, Font.PLAIN, 1);
+            familyBases.put(family, base);
+            miss();
+        }
+        return derive(base, style, size);
+    }
+
+    /**
+     * Equivalente a {@code base.deriveFont(size)} (mantiene el estilo).
+     */
+    public Font derive(Font base, float size) {
+        return derive(base, base.getStyle(), size);
+    }
+
+    /**
+     * Equivalente a {@code base.deriveFont(style, size)}. El tamaño se agrupa en 1/64 de punto.
+     */
+    public Font derive(Font base, int style, float size) {
+        IntTable<Font> variants = derivedFonts.get(base);
+        if (variants == null) {
+            variants = new IntTable<>();
+            derivedFonts.put(base, variants);
+        }
+        int key = (style & 3) << 28 | (Math.round(size * 64) & 0x0FFFFFFF);
+        Font font = variants.get(key);
+        if (font == null) {
+            font = base.deriveFont(style, size);
+            variants.put(key, font);
+            miss();
+        }
+        return font;
+    }
+
+    // ==================== COLORES ====================
+
+    /**
+     * Color opaco por componentes (p. ej. resultado de aplicar brillo).
+     */
+    public Color rgb(int r, int g, int b) {
+        int key = clamp(r) << 16 | clamp(g) << 8 | clamp(b);
+        Color color = opaqueColors.get(key);
+        if (color == null) {
+            color = new Color(key);
+            opaqueColors.put(key, color);
+            miss();
+        }
+        return color;
+    }
+
+    /**
+     * {@code base} con otro alpha; la primera vez arma la rampa entera del color.
+     */
+    public Color alpha(Color base, int alpha) {
+        int rgb = base.getRGB() & 0xFFFFFF;
+        Color[] ramp = alphaRamps.get(rgb);
+        if (ramp == null) {
+            ramp = new Color[256];
+            for (int a = 0; a < ramp.length; a++) {
+                ramp[a] = new Color(a << 24 | rgb, true);
+            }
+            alphaRamps.put(rgb, ramp);
+            miss();
+        }
+        return ramp[clamp(alpha)];
+    }
+
+    // ==================== STROKES ====================
+
+    public BasicStroke stroke(float width) {
+        int key = Float.floatToIntBits(width);
+        BasicStroke stroke = strokes.get(key);
+        if (stroke == null) {
+            stroke = new BasicStroke(width);
+            strokes.put(key, stroke);
+            miss();
+        }
+        return stroke;
+    }
+
+    // ==================== CONTADORES ====================
+
+    /**
+     * Marca el inicio de un frame: lo contado hasta acá queda como el frame anterior.
+     */
+    public void beginFrame() {
+        lastFrameMisses = frameMisses;
+        frameMisses = 0;
+    }
+
+    /**
+     * Recursos creados en el frame en curso.
+     */
+    public int getFrameMisses() {
+        return frameMisses;
+    }
+
+    /**
+     * Recursos creados en el último frame completo.
+     */
+    public int getLastFrameMisses() {
+        return lastFrameMisses;
+    }
+
+    public long getTotalMisses() {
+        return totalMisses;
+    }
+
+    private void miss() {
+        frameMisses++;
+        totalMisses++;
+    }
+
+    private static int clamp(int value) {
+        return Math.max(0, Math.min(255, value));
+    }
+
+    /**
+     * Mapa int → valor con direccionamiento abierto: buscar no crea Integers.
+     */
+    private static final class IntTable<V> {
+        private int[] keys = new int[16];
+        private Object[] values = new Object[16];
+        private int size;
+
+        @SuppressWarnings("unchecked")
+        V get(int key) {
+            int mask = keys.length - 1;
+            for (int i = mix(key) & mask; values[i] != null; i = (i + 1) & mask) {
+                if (keys[i] == key) return (V) values[i];
+            }
+            return null;
+        }
+
+        void put(int key, V value) {
+            if ((size + 1) * 2 > keys.length) {
+                resize();
+            }
+            int mask = keys.length - 1;
+            int i = mix(key) & mask;
+            while (values[i] != null && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            if (values[i] == null) size++;
+            keys[i] = key;
+            values[i] = value;
+        }
+
+        private void resize() {
+            int[] oldKeys = keys;
+            Object[] oldValues = values;
+            keys = new int[oldKeys.length * 2];
+            values = new Object[oldValues.length * 2];
+            int mask = keys.length - 1;
+            for (int j = 0; j < oldKeys.length; j++) {
+                if (oldValues[j] == null) continue;
+                int i = mix(oldKeys[j]) & mask;
+                while (values[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+
+        private static int mix(int key) {
+            int h = key * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
@@ -0,0 +1,641 @@
+package com.neonthread.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parser JSON en modo streaming (pull) sin dependencias externas.
+ * Lee tokens uno a uno desde un InputStream o ByteBuffer con un buffer acotado,
+ * sin construir el árbol completo del documento. Acepta un único valor raíz y valida
+ * números y escapes según la gramática JSON.
+ *
+ * Uso:
+ * <pre>
+ * try (JsonPullParser p = new JsonPullParser(in)) {
+ *     p.expect(Token.START_ARRAY);
+ *     while (p.next() == Token.START_OBJECT) {
+ *         while (p.next() == Token.FIELD_NAME) {
+ *             switch (p.getText()) { ... }
+ *         }
+ *     }
+ * }
+ * </pre>
+ *
+ * Trabaja sobre bytes UTF-8 para poder exponer offsets de bytes reales
+ * ({@link #getTokenStart()}), útiles para indexar registros dentro de un archivo. *
+ * Errores: JSON mal formado lanza {@link JsonSyntaxException}; pedir un valor de otro tipo
+ * (getIntValue sobre un STRING, acceptArray sobre un número...) lanza IOException simple
+ * y permite saltar el registro con {@link #skipToDepth(int)}.
+ */
+public class JsonPullParser implements Closeable {
+
+    /**
+     * Tipos de token emitidos por el parser.
+     */
+    public enum Token {
+        START_OBJECT, END_OBJECT,
+        START_ARRAY, END_ARRAY,
+        FIELD_NAME,
+        STRING, NUMBER,
+        TRUE, FALSE, NULL,
+        END_DOCUMENT
+    }
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_DEPTH = 256;
+    private static final int NAME_CACHE_SIZE = 64;
+
+    private final InputStream in;
+    private final ByteBuffer source; // Buffer sin array (p. ej. mapeado): se lee por ventanas
+    private final byte[] buf;
+    private int pos;
+    private int limit;
+    private long bufferOffset; // offset absoluto del byte buf[0]
+
+    // Pila de contextos: true = objeto, false = array
+    private final boolean[] inObject = new boolean[MAX_DEPTH];
+    private int depth;
+    private boolean expectValue; // dentro de objeto: tras FIELD_NAME
+    private boolean needComma;
+    private boolean rootDone; // Ya se leyó el valor raíz completo
+
+    private Token current;
+    private long tokenStart;
+    private final StringBuilder text = new StringBuilder(64);
+    private boolean numberIsDecimal;
+
+    // Caché de nombres de campo: evita crear un String por cada FIELD_NAME repetido
+    private final String[] nameCache = new String[NAME_CACHE_SIZE];
+
+    public JsonPullParser(InputStream in) {
+        this.in = in;
+        this.source = null;
+        this.buf = new byte[BUFFER_SIZE];
+        this.pos = 0;
+        this.limit = 0;
+    }
+
+    /**
+     * Parser sobre un ByteBuffer (por ejemplo un MappedByteBuffer).
+     * Si el buffer tiene array accesible se lee sin copiar; si no (buffer mapeado o
+     * directo) se recorre con una ventana de {@value #BUFFER_SIZE} bytes, así la memoria
+     * queda acotada sin importar el tamaño del archivo. No modifica la posición de {@code buffer}.
+     */
+    public JsonPullParser(ByteBuffer buffer) {
+        this.in = null;
+        if (buffer.hasArray()) {
+            this.source = null;
+            this.buf = buffer.array();
+            this.pos = buffer.arrayOffset() + buffer.position();
+            this.limit = buffer.arrayOffset() + buffer.limit();
+            this.bufferOffset = -pos;
+        } else {
+            this.source = buffer.duplicate();
+            this.buf = new byte[BUFFER_SIZE];
+            this.pos = 0;
+            this.limit = 0;
+        }
+    }
+
+    /**
+     * Parser que retoma un array raíz ya abierto. {@code in} debe empezar en el byte
+     * {@code offset} del documento, justo después de un elemento del array (por ejemplo
+     * la última posición registrada con {@link #getPosition()}); los offsets que reporta
+     * siguen siendo absolutos. Permite indexar un archivo en tramos sin dejarlo abierto.
+     */
+    public static JsonPullParser resumeArray(InputStream in, long offset) {
+        JsonPullParser parser = new JsonPullParser(in);
+        parser.bufferOffset = offset;
+        parser.inObject[0] = false;
+        parser.depth = 1;
+        parser.needComma = true;
+        return parser;
+    }
+
+    // ==================== API DE TOKENS ====================
+
+    /**
+     * Avanza al siguiente token.
+     */
+    public Token next() throws IOException {
+        int c = skipWhitespace();
+
+        if (current == Token.END_DOCUMENT) return current;
+
+        if (c == -1) {
+            if (depth > 0) throw error("Unexpected end of input");
+            return emit(Token.END_DOCUMENT);
+        }
+        if (rootDone) throw error("Unexpected data after root value");
+
+        tokenStart = position();
+
+        // Cierre de contenedores
+        if (c == '}' || c == ']') {
+            boolean closesObject = c == '}';
+            if (depth == 0 || inObject[depth - 1] != closesObject || expectValue) {
+                throw error("Unexpected '" + (char) c + "'");
+            }
+            pos++;
+            depth--;
+            needComma = true;
+            rootDone = depth == 0;
+            return emit(closesObject ? Token.END_OBJECT : Token.END_ARRAY);
+        }
+
+        if (needComma && depth > 0) {
+            if (c != ',') throw error("Expected ',' but found '" + (char) c + "'");
+            pos++;
+            c = skipWhitespace();
+            tokenStart = position();
+            needComma = false;
+        }
+
+        // Dentro de objeto, esperando nombre de campo
+        if (depth > 0 && inObject[depth - 1] && !expectValue) {
+            if (c != '"') throw error("Expected field name");
+            pos++;
+            readString();
+            c = skipWhitespace();
+            if (c != ':') throw error("Expected ':' after field name");
+            pos++;
+            expectValue = true;
+            return emit(Token.FIELD_NAME);
+        }
+
+        expectValue = false;
+        return readValueToken(c);
+    }
+
+    /**
+     * Token actual (el último devuelto por {@link #next()}).
+     */
+    public Token current() {
+        return current;
+    }
+
+    /**
+     * Avanza y verifica que el token sea el esperado.
+     */
+    public void expect(Token expected) throws IOException {
+        Token t = next();
+        if (t != expected) {
+            throw mismatch("Expected " + expected + " but found " + t);
+        }
+    }
+
+    /**
+     * Texto del token actual: nombre de campo, valor de string o representación numérica.
+     * Los nombres de campo se devuelven internados en una caché local (sin asignación tras el primer uso).
+     */
+    public String getText() {
+        if (current == Token.FIELD_NAME) {
+            return cachedName();
+        }
+        if (current == Token.STRING || current == Token.NUMBER) return text.toString();
+        if (current == Token.TRUE) return "true";
+        if (current == Token.FALSE) return "false";
+        return null;
+    }
+
+    /**
+     * Valor string del token actual, o null si el token es NULL.
+     */
+    public String getStringValue() throws IOException {
+        if (current == Token.NULL) return null;
+        if (current != Token.STRING) throw mismatch("Expected STRING but found " + current);
+        return text.toString();
+    }
+
+    /**
+     * Valor entero del token NUMBER actual, sin boxing ni substring.
+     * Los decimales se truncan.
+     */
+    public int getIntValue() throws IOException {
+        if (current != Token.NUMBER) throw mismatch("Expected NUMBER but found " + current);
+        if (numberIsDecimal) return (int) Double.parseDouble(text.toString());
+
+        int len = text.length();
+        int i = 0;
+        boolean negative = false;
+        if (text.charAt(0) == '-') {
+            negative = true;
+            i = 1;
+        }
+        long value = 0;
+        for (; i < len; i++) {
+            value = value * 10 + (text.charAt(i) - '0');
+            if (value > Integer.MAX_VALUE + 1L) throw mismatch("Integer overflow: " + text);
+        }
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE) throw mismatch("Integer overflow: " + text);
+        return (int) value;
+    }
+
+    public double getDoubleValue() throws IOException {
+        if (current != Token.NUMBER) throw mismatch("Expected NUMBER but found " + current);
+        return Double.parseDouble(text.toString());
+    }
+
+    public boolean getBooleanValue() throws IOException {
+        if (current == Token.TRUE) return true;
+        if (current == Token.FALSE) return false;
+        throw mismatch("Expected boolean but found " + current);
+    }
+
+    /**
+     * Verifica que el valor actual sea un array: true si es START_ARRAY, false si es NULL.
+     * Permite tratar {@code "campo": null} como array vacío.
+     */
+    public boolean acceptArray() throws IOException {
+        if (current == Token.START_ARRAY) return true;
+        if (current == Token.NULL) return false;
+        throw mismatch("Expected START_ARRAY but found " + current);
+    }
+
+    /**
+     * Verifica que el valor actual sea un objeto: true si es START_OBJECT, false si es NULL.
+     */
+    public boolean acceptObject() throws IOException {
+        if (current == Token.START_OBJECT) return true;
+        if (current == Token.NULL) return false;
+        throw mismatch("Expected START_OBJECT but found " + current);
+    }
+
+    /**
+     * Si el token actual abre un objeto o array, avanza hasta su cierre.
+     * Para valores escalares no hace nada.
+     */
+    public void skipChildren() throws IOException {
+        if (current != Token.START_OBJECT && current != Token.START_ARRAY) return;
+        int target = depth - 1;
+        while (depth > target) {
+            if (next() == Token.END_DOCUMENT) throw error("Unexpected end of input");
+        }
+    }
+
+    /**
+     * Avanza hasta volver a la profundidad indicada.
+     * Permite resincronizar el stream tras un error de binding a mitad de un registro.
+     */
+    public void skipToDepth(int targetDepth) throws IOException {
+        while (depth > targetDepth) {
+            if (next() == Token.END_DOCUMENT) throw error("Unexpected end of input");
+        }
+    }
+
+    /**
+     * Salta el valor que sigue a un FIELD_NAME (escalar o contenedor completo).
+     */
+    public void skipValue() throws IOException {
+        next();
+        skipChildren();
+    }
+
+    /**
+     * Materializa el valor actual como árbol (Map/List/String/Number/Boolean).
+     * Útil para subárboles puntuales.
+     */
+    public Object readTree() throws IOException {
+        switch (current) {
+            case START_OBJECT: {
+                Map<String, Object> map = new HashMap<>();
+                while (next() == Token.FIELD_NAME) {
+                    String key = getText();
+                    next();
+                    map.put(key, readTree());
+                }
+                return map;
+            }
+            case START_ARRAY: {
+                List<Object> list = new ArrayList<>();
+                while (next() != Token.END_ARRAY) {
+                    list.add(readTree());
+                }
+                return list;
+            }
+            case STRING: return text.toString();
+            case NUMBER:
+                return numberIsDecimal ? (Object) getDoubleValue() : (Object) getIntValue();
+            case TRUE: return Boolean.TRUE;
+            case FALSE: return Boolean.FALSE;
+            case NULL: return null;
+            default:
+                throw mismatch("Unexpected token " + current);
+        }
+    }
+
+    /**
+     * Offset en bytes del inicio del token actual.
+     */
+    public long getTokenStart() {
+        return tokenStart;
+    }
+
+    /**
+     * Offset en bytes inmediatamente posterior al token actual.
+     */
+    public long getPosition() {
+        return position();
+    }
+
+    /**
+     * Profundidad de anidamiento actual (0 = nivel raíz).
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (in != null) in.close();
+    }
+
+    // ==================== LECTURA INTERNA ====================
+
+    private Token readValueToken(int c) throws IOException {
+        Token token = readValue(c);
+        if (depth == 0 && token != Token.START_OBJECT && token != Token.START_ARRAY) {
+            rootDone = true; // Raíz escalar
+        }
+        return token;
+    }
+
+    private Token readValue(int c) throws IOException {
+        switch (c) {
+            case '{':
+                pos++;
+                push(true);
+                return emit(Token.START_OBJECT);
+            case '[':
+                pos++;
+                push(false);
+                return emit(Token.START_ARRAY);
+            case '"':
+                pos++;
+                readString();
+                needComma = true;
+                return emit(Token.STRING);
+            case 't':
+                consumeLiteral("true");
+                needComma = true;
+                return emit(Token.TRUE);
+            case 'f':
+                consumeLiteral("false");
+                needComma = true;
+                return emit(Token.FALSE);
+            case 'n':
+                consumeLiteral("null");
+                needComma = true;
+                return emit(Token.NULL);
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    readNumber();
+                    needComma = true;
+                    return emit(Token.NUMBER);
+                }
+                throw error("Invalid JSON: '" + (char) c + "'");
+        }
+    }
+
+    private Token emit(Token token) {
+        current = token;
+        return token;
+    }
+
+    private void push(boolean object) throws IOException {
+        if (depth >= MAX_DEPTH) throw error("Nesting too deep");
+        inObject[depth++] = object;
+        needComma = false;
+        expectValue = false;
+    }
+
+    private void readString() throws IOException {
+        text.setLength(0);
+        while (true) {
+            int b = read();
+            if (b == -1) throw error("Unterminated string");
+            if (b == '"') return;
+            if (b < 0x20) throw error("Unescaped control character in string");
+            if (b == '\\') {
+                int e = read();
+                switch (e) {
+                    case '"': text.append('"'); break;
+                    case '\\': text.append('\\'); break;
+                    case '/': text.append('/'); break;
+                    case 'n': text.append('\n'); break;
+                    case 't': text.append('\t'); break;
+                    case 'r': text.append('\r'); break;
+                    case 'b': text.append('\b'); break;
+                    case 'f': text.append('\f'); break;
+                    case 'u': text.append((char) readHex4()); break;
+                    case -1: throw error("Unterminated string");
+                    default: throw error("Invalid escape '\\" + (char) e + "'");
+                }
+            } else if (b < 0x80) {
+                text.append((char) b);
+            } else {
+                readUtf8(b);
+            }
+        }
+    }
+
+    /**
+     * Decodifica una secuencia UTF-8 bien formada (RFC 3629): sin formas sobrelargas,
+     * sin surrogates y sin code points por encima de U+10FFFF.
+     */
+    private void readUtf8(int first) throws IOException {
+        int codePoint;
+        int extra;
+        // Rango válido del segundo byte según el byte inicial
+        int secondMin = 0x80;
+        int secondMax = 0xBF;
+        if (first >= 0xC2 && first <= 0xDF) {
+            codePoint = first & 0x1F;
+            extra = 1;
+        } else if (first >= 0xE0 && first <= 0xEF) {
+            codePoint = first & 0x0F;
+            extra = 2;
+            if (first == 0xE0) secondMin = 0xA0;      // Sobrelarga
+            else if (first == 0xED) secondMax = 0x9F; // Surrogates
+        } else if (first >= 0xF0 && first <= 0xF4) {
+            codePoint = first & 0x07;
+            extra = 3;
+            if (first == 0xF0) secondMin = 0x90;      // Sobrelarga
+            else if (first == 0xF4) secondMax = 0x8F; // Mayor que U+10FFFF
+        } else {
+            throw error("Invalid UTF-8 byte");
+        }
+
+        for (int i = 0; i < extra; i++) {
+            int b = read();
+            int min = i == 0 ? secondMin : 0x80;
+            int max = i == 0 ? secondMax : 0xBF;
+            if (b < min || b > max) throw error("Invalid UTF-8 sequence");
+            codePoint = (codePoint << 6) | (b & 0x3F);
+        }
+        text.appendCodePoint(codePoint);
+    }
+
+    private int readHex4() throws IOException {
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            int h = read();
+            int digit = Character.digit(h, 16);
+            if (h == -1 || digit < 0) throw error("Invalid unicode escape");
+            value = (value << 4) | digit;
+        }
+        return value;
+    }
+
+    /**
+     * Lee un número validando la gramática JSON: -?(0|[1-9][0-9]*)(.[0-9]+)?([eE][+-]?[0-9]+)?
+     */
+    private void readNumber() throws IOException {
+        text.setLength(0);
+        numberIsDecimal = false;
+        if (peek() == '-') {
+            appendNext();
+        }
+        int first = peek();
+        if (first == '0') {
+            appendNext();
+            if (isDigit(peek())) throw error("Leading zeros are not allowed");
+        } else if (!readDigits()) {
+            throw error("Invalid number");
+        }
+        if (peek() == '.') {
+            numberIsDecimal = true;
+            appendNext();
+            if (!readDigits()) throw error("Expected digit after '.'");
+        }
+        int e = peek();
+        if (e == 'e' || e == 'E') {
+            numberIsDecimal = true;
+            appendNext();
+            int sign = peek();
+            if (sign == '+' || sign == '-') appendNext();
+            if (!readDigits()) throw error("Expected digit in exponent");
+        }
+    }
+
+    /**
+     * Lee uno o más dígitos; false si no había ninguno.
+     */
+    private boolean readDigits() throws IOException {
+        if (!isDigit(peek())) return false;
+        while (isDigit(peek())) {
+            appendNext();
+        }
+        return true;
+    }
+
+    private void appendNext() throws IOException {
+        text.append((char) read());
+    }
+
+    private static boolean isDigit(int b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private void consumeLiteral(String literal) throws IOException {
+        for (int i = 0; i < literal.length(); i++) {
+            if (read() != literal.charAt(i)) {
+                throw error("Expected \"" + literal + "\"");
+            }
+        }
+    }
+
+    private String cachedName() {
+        int h = 0;
+        int len = text.length();
+        for (int i = 0; i < len; i++) {
+            h = 31 * h + text.charAt(i);
+        }
+        int slot = (h ^ (h >>> 16)) & (NAME_CACHE_SIZE - 1);
+        String cached = nameCache[slot];
+        if (cached != null && cached.contentEquals(text)) {
+            return cached;
+        }
+        String name = text.toString();
+        nameCache[slot] = name;
+        return name;
+    }
+
+    private int skipWhitespace() throws IOException {
+        while (true) {
+            int b = peek();
+            if (b == ' ' || b == '\n' || b == '\r' || b == '\t') {
+                pos++;
+            } else if (b == 0xEF && position() == 0) {
+                skipBom();
+            } else {
+                return b;
+            }
+        }
+    }
+
+    private void skipBom() throws IOException {
+        pos++;
+        if (read() != 0xBB || read() != 0xBF) throw error("Invalid byte order mark");
+    }
+
+    private int peek() throws IOException {
+        if (pos >= limit && !fill()) return -1;
+        return buf[pos] & 0xFF;
+    }
+
+    private int read() throws IOException {
+        if (pos >= limit && !fill()) return -1;
+        return buf[pos++] & 0xFF;
+    }
+
+    private boolean fill() throws IOException {
+        if (in == null && source == null) return false;
+        bufferOffset += limit;
+        pos = 0;
+        limit = 0;
+        int n;
+        if (source != null) {
+            n = Math.min(buf.length, source.remaining());
+            source.get(buf, 0, n);
+        } else {
+            n = in.read(buf, 0, buf.length);
+        }
+        if (n <= 0) return false;
+        limit = n;
+        return true;
+    }
+
+    private long position() {
+        return bufferOffset + pos;
+    }
+
+    /**
+     * Documento mal formado: el stream queda en un estado irrecuperable.
+     */
+    private JsonSyntaxException error(String message) {
+        return new JsonSyntaxException(message + " at byte " + position());
+    }
+
+    /**
+     * Token válido pero de otro tipo que el pedido: el stream sigue sincronizado.
+     */
+    private IOException mismatch(String message) {
+        return new IOException(message + " at byte " + position());
+    }
+
+    /**
+     * Utilidad para crear un parser sobre un String (tests, contenido embebido).
+     */
+    public static JsonPullParser fromString(String json) {
+        return new JsonPullParser(ByteBuffer.wrap(json.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,18 @@
+package com.neonthread.utils;
+
+import java.io.IOException;
+
+/**
+ * JSON mal formado: el documento no respeta la gramática y el parser no puede seguir.
+ *
+ * Se distingue de los errores de tipo (pedir un número a un string, etc.), que solo
+ * invalidan el registro actual: tras ellos el stream sigue sincronizado y los loaders
+ * pueden saltar el registro y continuar.
+ */
+public class JsonSyntaxException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    public JsonSyntaxException(String message) {
+        super(message);
+    }
+}